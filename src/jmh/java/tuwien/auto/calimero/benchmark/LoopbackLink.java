@@ -0,0 +1,167 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2018 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package tuwien.auto.calimero.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import tuwien.auto.calimero.DataUnitBuilder;
+import tuwien.auto.calimero.FrameEvent;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXAddress;
+import tuwien.auto.calimero.Priority;
+import tuwien.auto.calimero.cemi.CEMILData;
+import tuwien.auto.calimero.internal.EventListeners;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+import tuwien.auto.calimero.link.NetworkLinkListener;
+import tuwien.auto.calimero.link.medium.KNXMediumSettings;
+import tuwien.auto.calimero.link.medium.TPSettings;
+
+/**
+ * In-process network link answering group reads with a stored value, synchronously on the sending thread.
+ */
+final class LoopbackLink implements KNXNetworkLink
+{
+	private static final int GroupRead = 0x00;
+	private static final int GroupResponse = 0x40;
+
+	private static final IndividualAddress responder = new IndividualAddress(1, 1, 10);
+
+	private final EventListeners<NetworkLinkListener> listeners = new EventListeners<>();
+	private final Map<GroupAddress, byte[]> values = new ConcurrentHashMap<>();
+	private volatile KNXMediumSettings medium = new TPSettings(new IndividualAddress(1, 1, 1));
+	private volatile int hopCount = 6;
+	private volatile boolean closed;
+
+	/**
+	 * Sets the value returned in the response to a group read.
+	 *
+	 * @param dst group address
+	 * @param asdu the value, ASDUs of up to 6 bits are length optimized
+	 * @param optimized <code>true</code> to merge the value into the APCI
+	 */
+	void respond(final GroupAddress dst, final byte[] asdu, final boolean optimized)
+	{
+		values.put(dst, optimized ? DataUnitBuilder.createLengthOptimizedAPDU(GroupResponse, asdu)
+				: DataUnitBuilder.createAPDU(GroupResponse, asdu));
+	}
+
+	@Override
+	public void setKNXMedium(final KNXMediumSettings settings)
+	{
+		medium = settings;
+	}
+
+	@Override
+	public KNXMediumSettings getKNXMedium()
+	{
+		return medium;
+	}
+
+	@Override
+	public void addLinkListener(final NetworkLinkListener l)
+	{
+		listeners.add(l);
+	}
+
+	@Override
+	public void removeLinkListener(final NetworkLinkListener l)
+	{
+		listeners.remove(l);
+	}
+
+	@Override
+	public void setHopCount(final int count)
+	{
+		hopCount = count;
+	}
+
+	@Override
+	public int getHopCount()
+	{
+		return hopCount;
+	}
+
+	@Override
+	public void sendRequest(final KNXAddress dst, final Priority p, final byte[] nsdu)
+	{
+		answer(dst, p, nsdu);
+	}
+
+	@Override
+	public void sendRequestWait(final KNXAddress dst, final Priority p, final byte[] nsdu)
+	{
+		answer(dst, p, nsdu);
+	}
+
+	@Override
+	public void send(final CEMILData msg, final boolean waitForCon)
+	{
+		answer(msg.getDestination(), msg.getPriority(), msg.getPayload());
+	}
+
+	@Override
+	public String getName()
+	{
+		return "loopback";
+	}
+
+	@Override
+	public boolean isOpen()
+	{
+		return !closed;
+	}
+
+	@Override
+	public void close()
+	{
+		closed = true;
+	}
+
+	private void answer(final KNXAddress dst, final Priority p, final byte[] tpdu)
+	{
+		if (!(dst instanceof GroupAddress) || DataUnitBuilder.getAPDUService(tpdu) != GroupRead)
+			return;
+		final byte[] response = values.get(dst);
+		if (response == null)
+			return;
+		final CEMILData ind = new CEMILData(CEMILData.MC_LDATA_IND, responder, dst, response, p);
+		final FrameEvent e = new FrameEvent(this, ind);
+		listeners.fire(l -> l.indication(e));
+	}
+}
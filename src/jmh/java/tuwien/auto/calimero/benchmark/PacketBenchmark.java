@@ -0,0 +1,104 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2018 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package tuwien.auto.calimero.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tuwien.auto.calimero.DataUnitBuilder;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.Priority;
+import tuwien.auto.calimero.cemi.CEMILData;
+import tuwien.auto.calimero.knxnetip.servicetype.KNXnetIPHeader;
+import tuwien.auto.calimero.knxnetip.servicetype.PacketHelper;
+import tuwien.auto.calimero.knxnetip.servicetype.ServiceRequest;
+
+/**
+ * KNXnet/IP tunneling request: building the packet, and parsing header and request of a received packet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketBenchmark
+{
+	private CEMILData ldata;
+	private byte[] packet;
+
+	@Setup
+	public void setup()
+	{
+		final byte[] tpdu = DataUnitBuilder.createAPDU(0x80, (byte) 0x0c, (byte) 0x1a);
+		ldata = new CEMILData(CEMILData.MC_LDATA_IND, new IndividualAddress(1, 1, 10), new GroupAddress(2, 1, 1),
+				tpdu, Priority.LOW);
+		packet = toPacket();
+	}
+
+	@Benchmark
+	public byte[] toPacket()
+	{
+		return PacketHelper.toPacket(new ServiceRequest(KNXnetIPHeader.TUNNELING_REQ, 1, 0, ldata));
+	}
+
+	@Benchmark
+	public KNXnetIPHeader parseHeader() throws KNXFormatException
+	{
+		return new KNXnetIPHeader(packet, 0);
+	}
+
+	@Benchmark
+	public ServiceRequest parseRequest() throws KNXFormatException
+	{
+		final KNXnetIPHeader h = new KNXnetIPHeader(packet, 0);
+		return new ServiceRequest(h.getServiceType(), packet, h.getStructLength(),
+				h.getTotalLength() - h.getStructLength());
+	}
+}
@@ -0,0 +1,43 @@
+package com.stift.housecontrol.connection;
+
+import java.util.List;
+
+/**
+ * Bus budget and the outbound traffic shaped to it.
+ */
+public class BusLoadStats {
+
+    private final double telegramsPerSecond;
+    private final int burst;
+    private final double tokens;
+    private final List<TrafficStats> traffic;
+
+    public BusLoadStats(double telegramsPerSecond, int burst, double tokens, List<TrafficStats> traffic) {
+        this.telegramsPerSecond = telegramsPerSecond;
+        this.burst = burst;
+        this.tokens = tokens;
+        this.traffic = traffic;
+    }
+
+    public double getTelegramsPerSecond() {
+        return telegramsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * @return telegrams which can currently be sent without waiting
+     */
+    public double getTokens() {
+        return tokens;
+    }
+
+    /**
+     * @return statistics per traffic class, highest precedence first
+     */
+    public List<TrafficStats> getTraffic() {
+        return traffic;
+    }
+}
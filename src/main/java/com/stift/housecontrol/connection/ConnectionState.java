@@ -0,0 +1,12 @@
+package com.stift.housecontrol.connection;
+
+/**
+ * State of the connection to the KNX installation.
+ */
+public enum ConnectionState {
+    CONNECTED,
+    // reconnecting after a short outage, writes are queued
+    DEGRADED,
+    // no connection for longer than knx.connection.down-after-ms, writes fail immediately
+    DOWN
+}
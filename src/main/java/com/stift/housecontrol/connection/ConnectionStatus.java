@@ -0,0 +1,82 @@
+package com.stift.housecontrol.connection;
+
+/**
+ * Connection state and write queue counters of the {@link KnxConnectionService}.
+ */
+public class ConnectionStatus {
+
+    private final ConnectionState state;
+    private final long disconnectedSince;
+    private final long reconnects;
+    private final int queuedWrites;
+    private final long replayedWrites;
+    private final long droppedWrites;
+    private final int tunnels;
+    private final int connectedTunnels;
+    private final long failovers;
+
+    public ConnectionStatus(ConnectionState state, long disconnectedSince, long reconnects, int queuedWrites,
+                            long replayedWrites, long droppedWrites, int tunnels, int connectedTunnels,
+                            long failovers) {
+        this.state = state;
+        this.disconnectedSince = disconnectedSince;
+        this.reconnects = reconnects;
+        this.queuedWrites = queuedWrites;
+        this.replayedWrites = replayedWrites;
+        this.droppedWrites = droppedWrites;
+        this.tunnels = tunnels;
+        this.connectedTunnels = connectedTunnels;
+        this.failovers = failovers;
+    }
+
+    public ConnectionState getState() {
+        return state;
+    }
+
+    /**
+     * @return start of the current outage in milliseconds since the epoch, 0 if connected
+     */
+    public long getDisconnectedSince() {
+        return disconnectedSince;
+    }
+
+    /**
+     * @return number of successful connects since startup
+     */
+    public long getReconnects() {
+        return reconnects;
+    }
+
+    /**
+     * @return writes waiting for the reconnect, at most one per group address
+     */
+    public int getQueuedWrites() {
+        return queuedWrites;
+    }
+
+    public long getReplayedWrites() {
+        return replayedWrites;
+    }
+
+    /**
+     * @return writes dropped because the queue was full, the connection went down or the replay failed
+     */
+    public long getDroppedWrites() {
+        return droppedWrites;
+    }
+
+    public int getTunnels() {
+        return tunnels;
+    }
+
+    public int getConnectedTunnels() {
+        return connectedTunnels;
+    }
+
+    /**
+     * @return requests retried on another tunnel of the pool after their tunnel was lost
+     */
+    public long getFailovers() {
+        return failovers;
+    }
+}
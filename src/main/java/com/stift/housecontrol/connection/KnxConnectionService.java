@@ -1,129 +1,669 @@
 package com.stift.housecontrol.connection;
 
 import com.stift.housecontrol.action.JalousieAction;
+import com.stift.housecontrol.datapoint.DatapointEntry;
+import com.stift.housecontrol.datapoint.DatapointValue;
+import com.stift.housecontrol.datapoint.DptCodec;
+import com.stift.housecontrol.event.DptCodecs;
 import com.stift.housecontrol.model.Jalousie;
 import com.stift.housecontrol.model.Mess;
 import com.stift.housecontrol.service.GroupAddressListenerService;
+import com.stift.housecontrol.state.GroupAddressStateCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import tuwien.auto.calimero.CloseEvent;
+import tuwien.auto.calimero.DataUnitBuilder;
+import tuwien.auto.calimero.FrameEvent;
 import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.KNXFormatException;
 import tuwien.auto.calimero.datapoint.Datapoint;
 import tuwien.auto.calimero.datapoint.StateDP;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
 import tuwien.auto.calimero.dptxlator.DPTXlator1BitControlled;
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteFloat;
 import tuwien.auto.calimero.dptxlator.DPTXlator8BitUnsigned;
+import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
 import tuwien.auto.calimero.dptxlator.DPTXlatorDate;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
 import tuwien.auto.calimero.knxnetip.KNXnetIPConnection;
+import tuwien.auto.calimero.link.AbstractLink;
+import tuwien.auto.calimero.link.Connector;
 import tuwien.auto.calimero.link.KNXLinkClosedException;
 import tuwien.auto.calimero.link.KNXNetworkLink;
+import tuwien.auto.calimero.link.KNXNetworkLinkGovernor;
 import tuwien.auto.calimero.link.KNXNetworkLinkIP;
+import tuwien.auto.calimero.link.KNXNetworkLinkPool;
+import tuwien.auto.calimero.link.NetworkLinkListener;
 import tuwien.auto.calimero.link.medium.TPSettings;
+import tuwien.auto.calimero.metrics.KnxMetrics;
 import tuwien.auto.calimero.process.ProcessCommunicator;
 import tuwien.auto.calimero.process.ProcessCommunicatorImpl;
 
 import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Connection to the KNX installation.
+ * <p>
+ * The tunnel is managed by a calimero {@link Connector}: a lost connection is re-established in the background with
+ * exponential backoff, only one connect attempt runs at a time. One communicator is attached for the lifetime of the
+ * service. While reconnecting after a short outage (<code>DEGRADED</code>), writes are queued, keeping only the last
+ * write per group address, and sent once the tunnel is back. Reads and writes fail immediately while the connection
+ * is <code>DOWN</code> instead of waiting for a tunnel timeout.
+ * <p>
+ * With <code>knx.connection.tunnels</code> &gt; 1, several tunnels are opened and combined in a
+ * {@link KNXNetworkLinkPool}, which spreads the requests over the tunnels; the connection is degraded only if all
+ * tunnels are lost.
+ * <p>
+ * Jalousie and datapoint writes pass a {@link WriteCoalescer} first: of a burst of writes to the same group address
+ * within <code>knx.write.debounce-ms</code>, only the first and the last value are sent.
+ * <p>
+ * All telegrams are shaped to the bus budget of <code>knx.busload.*</code> by a {@link KNXNetworkLinkGovernor}; REST
+ * requests are sent as interactive traffic, polling and probes as background traffic.
+ * <p>
+ * With <code>knx.connection.simulated=true</code>, the service connects to a {@link SimulatedInstallation} instead of
+ * the gateway, for load tests without network.
+ */
 @Service
-public class KnxConnectionService implements InitializingBean {
+public class KnxConnectionService implements InitializingBean, DisposableBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 
     private static final InetSocketAddress server = new InetSocketAddress("knx.stift.me", KNXnetIPConnection.DEFAULT_PORT);
     private static final InetSocketAddress me = new InetSocketAddress("raspi.stift.me", KNXnetIPConnection.DEFAULT_PORT);
 
-    private KNXNetworkLink connection;
+    @Value("${knx.connection.reconnect-delay-ms:1000}")
+    private long reconnectDelayMillis = 1000;
+    @Value("${knx.connection.max-reconnect-delay-ms:60000}")
+    private long maxReconnectDelayMillis = 60000;
+    @Value("${knx.connection.down-after-ms:60000}")
+    private long downAfterMillis = 60000;
+    @Value("${knx.connection.queue-size:64}")
+    private int queueSize = 64;
+    @Value("${knx.connection.tunnels:1}")
+    private int tunnels = 1;
+    @Value("${knx.connection.simulated:false}")
+    private boolean simulated = false;
+    @Value("${knx.write.debounce-ms:250}")
+    private long debounceMillis = 250;
+    @Value("${knx.busload.telegrams-per-second:25}")
+    private double telegramsPerSecond = 25;
+    @Value("${knx.busload.burst:10}")
+    private int burst = 10;
+    @Value("${knx.busload.max-wait-ms:10000}")
+    private long maxWaitMillis = 10000;
+    @Value("${knx.metrics.enabled:true}")
+    private boolean metricsEnabled = true;
+
+    private volatile KNXNetworkLinkGovernor connection;
+    private volatile ProcessCommunicator communicator;
+    private ScheduledExecutorService writeScheduler;
+    private WriteCoalescer coalescer;
+
+    // start of the current outage, 0 while connected
+    private final AtomicLong disconnectedSince = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong reconnects = new AtomicLong();
+    private final AtomicLong replayedWrites = new AtomicLong();
+    private final AtomicLong droppedWrites = new AtomicLong();
+    // last write per raw group address, in order of the writes
+    private final Map<Integer, PendingWrite> pendingWrites = new LinkedHashMap<>();
+    // queued writes are being sent, guarded by pendingWrites
+    private boolean replaying;
 
     @Autowired
     private GroupAddressListenerService groupAdressListenerService;
+    @Autowired
+    private GroupAddressStateCache stateCache;
+    @Autowired
+    private SimulatedInstallation simulatedInstallation;
+
+    private static final class PendingWrite {
+        final GroupAddress groupAddress;
+        final DPTXlator value;
+
+        PendingWrite(GroupAddress groupAddress, DPTXlator value) {
+            this.groupAddress = groupAddress;
+            this.value = value;
+        }
+    }
+
+    private final NetworkLinkListener outageListener = new NetworkLinkListener() {
+        @Override
+        public void confirmation(FrameEvent e) {}
+
+        @Override
+        public void indication(FrameEvent e) {}
+
+        @Override
+        public void linkClosed(CloseEvent e) {
+            lost(e.getReason());
+        }
+    };
 
     public boolean getLightState(GroupAddress groupAddress) throws KNXException, InterruptedException {
-        return getCommunicator().readBool(groupAddress);
+        final GroupAddressStateCache.State state = stateCache.getFresh(groupAddress, 0);
+        if (state != null) {
+            return asBool(state);
+        }
+        return readLightState(groupAddress);
     }
 
     public boolean invertLightState(GroupAddress groupAddress) throws KNXException, InterruptedException {
-        boolean actualState = getLightState(groupAddress);
-        boolean newState = !actualState;
-        getCommunicator().write(groupAddress, newState);
-        return newState;
+        return toggle(groupAddress, groupAddress).getState();
+    }
+
+    /**
+     * Toggles a switch without reading it first, as long as its last known state is fresh.
+     * <p>
+     * If the switch address is a central group address, f.i. all kitchen spots, the write drops the cached values of
+     * all members; only the state address is known to follow the new state.
+     *
+     * @param stateAddress group address providing the actual state
+     * @param switchAddress group address the new state is written to
+     * @return the new state and whether it was toggled from a known state
+     */
+    public ToggleResult toggle(GroupAddress stateAddress, GroupAddress switchAddress) throws KNXException, InterruptedException {
+        final GroupAddressStateCache.State state = stateCache.getFresh(stateAddress, 0);
+        final boolean known = state != null;
+        final boolean newState = !(known ? asBool(state) : readLightState(stateAddress));
+        writeBool(switchAddress, newState);
+        // after the write, which invalidated the other members of a central switch address
+        if (!stateAddress.equals(switchAddress)) {
+            stateCache.update(stateAddress, new byte[] { (byte) (newState ? 1 : 0) }, true);
+        }
+        return new ToggleResult(newState, known);
     }
 
     public void lightOn(GroupAddress groupAddress) throws KNXException, InterruptedException {
-        getCommunicator().write(groupAddress, true);
+        writeBool(groupAddress, true);
     }
 
     public void lightOff(GroupAddress groupAddress) throws KNXException, InterruptedException {
-        getCommunicator().write(groupAddress, false);
+        writeBool(groupAddress, false);
     }
 
 
     public void setJalousiePosition(GroupAddress groupAddress, int percentage) throws KNXException {
         final Datapoint dp = new StateDP(groupAddress, groupAddress.toString());
         dp.setDPT(0, DPTXlator8BitUnsigned.DPT_SCALING.getID());
-        getCommunicator().write(dp, String.valueOf(percentage));
+        coalescer.write(groupAddress, translate(dp, String.valueOf(percentage)));
     }
 
     public Object get2ByteMess(Mess mess) throws KNXException, InterruptedException {
         final Datapoint dp = new StateDP(mess.getGroupAddress(), mess.name());
         dp.setDPT(0, DPTXlator2ByteFloat.DPT_TEMPERATURE.getID());
-        return getCommunicator().readNumeric(dp);
+        return getMess(dp);
     }
 
     public Object getMess(Datapoint dp) throws KNXException, InterruptedException {
+        final DPTXlator cached = fromCache(dp);
+        if (cached != null) {
+            return cached.getNumericValue();
+        }
         return getCommunicator().readNumeric(dp);
     }
 
     public Object get3yteMess(Mess mess) throws KNXException, InterruptedException {
         final Datapoint dp = new StateDP(mess.getGroupAddress(), mess.name());
         dp.setDPT(0, DPTXlatorDate.DPT_DATE.getID());
-        return getCommunicator().read(dp);
+        return read(dp);
     }
 
     public Object getJalousiePercentage(Jalousie jalousie) throws KNXException, InterruptedException {
         final Datapoint dp = new StateDP(jalousie.getGroupAddress(), jalousie.name());
         dp.setDPT(0, DPTXlator8BitUnsigned.DPT_SCALING.getID());
-        return getCommunicator().read(dp);
+        return read(dp);
     }
 
     public void executeJalousie(JalousieAction action, GroupAddress groupAddress) throws KNXException {
        final Datapoint dp = new StateDP(groupAddress, action.name());
        dp.setDPT(0, DPTXlator1BitControlled.DPT_UPDOWN_CONTROL.getID());
-       getCommunicator().write(dp, action.getCommand());
+       coalescer.write(groupAddress, translate(dp, action.getCommand()));
+    }
+
+    /**
+     * Reads a datapoint of the index, from the state cache if its value is fresh and of the type size of the
+     * datapoint. Otherwise a group read is sent and the ASDU of its response is decoded the same way.
+     *
+     * @param entry the datapoint
+     * @return value of the datapoint
+     */
+    public DatapointValue read(DatapointEntry entry) throws KNXException, InterruptedException {
+        final DptCodec codec = entry.getCodec();
+        final GroupAddress groupAddress = entry.getGroupAddress();
+        final GroupAddressStateCache.State state = stateCache.getFresh(groupAddress, codec.getTypeSize());
+        final boolean cached = state != null;
+        final byte[] asdu;
+        if (cached) {
+            asdu = state.getData();
+        } else {
+            asdu = DataUnitBuilder.fromHex(getCommunicator().read(entry.getRawDatapoint()));
+            if (asdu.length != Math.max(1, codec.getTypeSize())) {
+                throw new KNXFormatException("read response of " + groupAddress + " does not match DPT "
+                        + codec.getDptId());
+            }
+        }
+        return new DatapointValue(entry.getName(), groupAddress.toString(), codec.getDptId(), codec.decode(asdu),
+                codec.getUnit(), cached);
+    }
+
+    /**
+     * Writes a datapoint of the index; like jalousie positions, writes within the debounce window are coalesced.
+     *
+     * @param entry the datapoint
+     * @param value the value, as accepted by the DPT translator
+     */
+    public void write(DatapointEntry entry, String value) throws KNXException {
+        coalescer.write(entry.getGroupAddress(), entry.getCodec().encode(value));
+    }
+
+    private boolean readLightState(GroupAddress groupAddress) throws KNXException, InterruptedException {
+        final boolean value = getCommunicator().readBool(groupAddress);
+        stateCache.update(groupAddress, new byte[] { (byte) (value ? 1 : 0) }, true);
+        return value;
+    }
+
+    private static boolean asBool(GroupAddressStateCache.State state) throws KNXFormatException {
+        return DptCodecs.decodeBool(state.getData());
     }
 
+    private void writeBool(GroupAddress groupAddress, boolean value) throws KNXException {
+        final DPTXlatorBoolean t = new DPTXlatorBoolean(DPTXlatorBoolean.DPT_BOOL);
+        t.setValue(value);
+        write(groupAddress, t);
+    }
 
-    public void heartbeat() {
-        getCommunicator();
+    private static DPTXlator translate(Datapoint dp, String value) throws KNXException {
+        final DPTXlator t = TranslatorTypes.createTranslator(dp.getMainNumber(), dp.getDPT());
+        t.setValue(value);
+        return t;
     }
 
-    private ProcessCommunicator getCommunicator() {
-        try{
-            return new ProcessCommunicatorImpl(connection);
-        } catch (KNXLinkClosedException e) {
-            ensureConnection();
+    /**
+     * Writes the value, or queues it if the connection is currently reestablished. While queued writes are replayed,
+     * new writes are queued as well, so they cannot be overtaken by an older queued value of the same group address.
+     *
+     * @throws KNXLinkClosedException if the connection is down
+     */
+    private void write(GroupAddress groupAddress, DPTXlator value) throws KNXException {
+        if (getConnectionState() == ConnectionState.CONNECTED && !writesQueued()) {
             try {
-                return new ProcessCommunicatorImpl(connection);
-            } catch (KNXLinkClosedException ex) {
-                ex.printStackTrace();
-                return null;
+                communicator.write(groupAddress, value);
+                stateCache.write(groupAddress, value.getData(), value.getTypeSize() == 0);
+                return;
+            } catch (KNXLinkClosedException e) {
+                lost(e.getMessage());
             }
         }
+        if (getConnectionState() == ConnectionState.DOWN) {
+            throw new KNXLinkClosedException("no connection to " + server);
+        }
+        enqueue(groupAddress, value);
     }
 
-    private void ensureConnection() {
-        if(connection == null || !connection.isOpen()) {
-            try {
-                connection = KNXNetworkLinkIP.newTunnelingLink(me, server, false, TPSettings.TP1);
-                new ProcessCommunicatorImpl(connection).addProcessListener(groupAdressListenerService);
-            } catch (KNXException e) {
-                e.printStackTrace();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+    // queued writes have to be sent first
+    private boolean writesQueued() {
+        synchronized (pendingWrites) {
+            return replaying || !pendingWrites.isEmpty();
+        }
+    }
+
+    private void enqueue(GroupAddress groupAddress, DPTXlator value) {
+        synchronized (pendingWrites) {
+            pendingWrites.remove(groupAddress.getRawAddress());
+            if (pendingWrites.size() >= queueSize) {
+                final Iterator<PendingWrite> eldest = pendingWrites.values().iterator();
+                LOGGER.warn("Write queue full, dropped write to {}", eldest.next().groupAddress);
+                eldest.remove();
+                droppedWrites.incrementAndGet();
+            }
+            pendingWrites.put(groupAddress.getRawAddress(), new PendingWrite(groupAddress, value));
+        }
+        LOGGER.info("Queued write to {} until reconnect", groupAddress);
+        // the connection might have been reestablished since the state was checked, with the replay already done
+        if (getConnectionState() == ConnectionState.CONNECTED) {
+            startReplay();
+        }
+    }
+
+    // starts sending the queued writes, unless they are sent already
+    private void startReplay() {
+        synchronized (pendingWrites) {
+            if (replaying || pendingWrites.isEmpty()) {
+                return;
+            }
+            replaying = true;
+        }
+        CompletableFuture.runAsync(this::replay);
+    }
+
+    // sends the queued writes after a reconnect, until the queue is empty
+    private void replay() {
+        int replayed = 0;
+        while (true) {
+            final List<PendingWrite> writes;
+            synchronized (pendingWrites) {
+                if (pendingWrites.isEmpty()) {
+                    replaying = false;
+                    break;
+                }
+                writes = new ArrayList<>(pendingWrites.values());
+                pendingWrites.clear();
+            }
+            for (int i = 0; i < writes.size(); i++) {
+                final PendingWrite w = writes.get(i);
+                try {
+                    communicator.write(w.groupAddress, w.value);
+                    stateCache.write(w.groupAddress, w.value.getData(), w.value.getTypeSize() == 0);
+                    replayedWrites.incrementAndGet();
+                    replayed++;
+                } catch (KNXLinkClosedException e) {
+                    // lost again, keep the remaining writes unless there are newer ones; the next connect replays them
+                    synchronized (pendingWrites) {
+                        for (PendingWrite remaining : writes.subList(i, writes.size())) {
+                            pendingWrites.putIfAbsent(remaining.groupAddress.getRawAddress(), remaining);
+                        }
+                        replaying = false;
+                    }
+                    return;
+                } catch (KNXException e) {
+                    droppedWrites.incrementAndGet();
+                    e.printStackTrace();
+                }
             }
         }
+        if (replayed > 0) {
+            LOGGER.info("Replayed {} queued writes", replayed);
+        }
+    }
+
+    private String read(Datapoint dp) throws KNXException, InterruptedException {
+        final DPTXlator cached = fromCache(dp);
+        if (cached != null) {
+            return cached.getValue();
+        }
+        return getCommunicator().read(dp);
+    }
+
+    /**
+     * Returns a translator holding the cached value of the datapoint, the read response of a
+     * bus read is put into the cache by the group address listener service. A cached value of another type size,
+     * f.i. an up/down command on a jalousie position address, is not used.
+     *
+     * @return translator or <code>null</code> if there is no fresh value of the type in the cache
+     */
+    private DPTXlator fromCache(Datapoint dp) throws KNXException {
+        if (dp.getDPT() == null) {
+            return null;
+        }
+        final DPTXlator t = TranslatorTypes.createTranslator(dp.getMainNumber(), dp.getDPT());
+        final GroupAddressStateCache.State state = stateCache.getFresh(dp.getMainAddress(), t.getTypeSize());
+        if (state == null) {
+            return null;
+        }
+        t.setData(state.getData());
+        return t;
+    }
+
+
+    /**
+     * Returns the state of the connection, cheap enough to be checked before every request. It has no side effects,
+     * queued writes of an outage longer than <code>knx.connection.down-after-ms</code> are dropped on reconnect.
+     *
+     * @return current connection state
+     */
+    public ConnectionState getConnectionState() {
+        if (isConnected(connection)) {
+            return ConnectionState.CONNECTED;
+        }
+        final long since = disconnectedSince.get();
+        // an outage not reported yet has just begun
+        if (since == 0 || System.currentTimeMillis() - since < downAfterMillis) {
+            return ConnectionState.DEGRADED;
+        }
+        return ConnectionState.DOWN;
+    }
+
+    public ConnectionStatus getConnectionStatus() {
+        final ConnectionState state = getConnectionState();
+        final int queued;
+        synchronized (pendingWrites) {
+            queued = pendingWrites.size();
+        }
+        final KNXNetworkLink link = tunnel(connection);
+        final List<KNXNetworkLink> links = link instanceof KNXNetworkLinkPool ? ((KNXNetworkLinkPool) link).links()
+                : Collections.singletonList(link);
+        final int connected = (int) links.stream().filter(KnxConnectionService::isConnected).count();
+        final long failovers = link instanceof KNXNetworkLinkPool ? ((KNXNetworkLinkPool) link).failovers() : 0;
+        return new ConnectionStatus(state, disconnectedSince.get(), reconnects.get(), queued, replayedWrites.get(),
+                droppedWrites.get(), links.size(), connected, failovers);
+    }
+
+    public ReadStats getReadStats() {
+        final ProcessCommunicator pc = communicator;
+        if (pc instanceof ProcessCommunicatorImpl) {
+            final ProcessCommunicatorImpl impl = (ProcessCommunicatorImpl) pc;
+            return new ReadStats(impl.groupReads(), impl.groupReadRequests(), impl.coalescedReads());
+        }
+        return new ReadStats(0, 0, 0);
+    }
+
+    public WriteStats getWriteStats() {
+        return coalescer.getStats();
+    }
+
+    public BusLoadStats getBusLoadStats() {
+        final KNXNetworkLinkGovernor governor = connection;
+        final KNXNetworkLinkGovernor.TrafficClass[] classes = KNXNetworkLinkGovernor.TrafficClass.values();
+        final int[] queued = governor.queued();
+        final long[] sent = governor.sent();
+        final long[] waitNanos = governor.waitNanos();
+        final long[] maxWaitNanos = governor.maxWaitNanos();
+        final long[] timeouts = governor.timeouts();
+        final List<TrafficStats> traffic = new ArrayList<>();
+        for (int i = 0; i < classes.length; i++) {
+            traffic.add(new TrafficStats(classes[i].name(), queued[i], sent[i], waitNanos[i], maxWaitNanos[i],
+                    timeouts[i]));
+        }
+        return new BusLoadStats(telegramsPerSecond, burst, governor.tokens(), traffic);
+    }
+
+    /**
+     * Returns the KNX link currently used. The link stays the same across reconnects.
+     *
+     * @return connected KNX network link
+     * @throws KNXLinkClosedException if the connection is currently not established
+     */
+    public KNXNetworkLink getLink() throws KNXLinkClosedException {
+        final KNXNetworkLink link = connection;
+        if (!isConnected(link)) {
+            throw new KNXLinkClosedException("no connection to " + server);
+        }
+        return link;
+    }
+
+    /**
+     * Adds a listener to the KNX link, it stays registered across reconnects.
+     *
+     * @param l the link listener
+     */
+    public void addLinkListener(NetworkLinkListener l) {
+        connection.addLinkListener(l);
+    }
+
+    public void removeLinkListener(NetworkLinkListener l) {
+        connection.removeLinkListener(l);
+    }
+
+    /**
+     * Returns the number of listeners attached to the current KNX connection.
+     * Used as gauge to verify that communicators are not leaked on the link.
+     *
+     * @return number of attached link listeners, -1 if not known
+     */
+    public int getLinkListenerCount() {
+        final KNXNetworkLink link = tunnel(connection);
+        if (link instanceof KNXNetworkLinkPool) {
+            int count = 0;
+            for (KNXNetworkLink tunnel : ((KNXNetworkLinkPool) link).links()) {
+                final int n = listenerCount(tunnel);
+                if (n < 0) {
+                    return -1;
+                }
+                count += n;
+            }
+            return count;
+        }
+        return listenerCount(link);
+    }
+
+    private static int listenerCount(KNXNetworkLink link) {
+        final AutoCloseable target = link instanceof Connector.Link ? ((Connector.Link<?>) link).target() : null;
+        if (target instanceof AbstractLink) {
+            return ((AbstractLink<?>) target).linkListeners();
+        }
+        return -1;
+    }
+
+    // the link below the governor, a tunnel or pool of tunnels
+    private static KNXNetworkLink tunnel(KNXNetworkLink link) {
+        return link instanceof KNXNetworkLinkGovernor ? ((KNXNetworkLinkGovernor) link).target() : link;
+    }
+
+    private static boolean isConnected(KNXNetworkLink link) {
+        final KNXNetworkLink target = tunnel(link);
+        if (target instanceof KNXNetworkLinkPool) {
+            return ((KNXNetworkLinkPool) target).isConnected();
+        }
+        if (target instanceof Connector.Link) {
+            return ((Connector.Link<?>) target).isConnected();
+        }
+        return target != null && target.isOpen();
+    }
+
+    /**
+     * Returns the communicator shared by all callers, it is attached once and survives reconnects.
+     *
+     * @throws KNXLinkClosedException if the connection is currently not established
+     */
+    private ProcessCommunicator getCommunicator() throws KNXLinkClosedException {
+        final ProcessCommunicator pc = communicator;
+        if (pc == null || getConnectionState() != ConnectionState.CONNECTED) {
+            throw new KNXLinkClosedException("no connection to " + server);
+        }
+        return pc;
+    }
+
+    private void dropPendingWrites() {
+        synchronized (pendingWrites) {
+            if (!pendingWrites.isEmpty()) {
+                LOGGER.warn("KNX connection was down, dropped {} queued writes", pendingWrites.size());
+                droppedWrites.addAndGet(pendingWrites.size());
+                pendingWrites.clear();
+            }
+        }
+    }
+
+    private void lost(String reason) {
+        if (disconnectedSince.compareAndSet(0, System.currentTimeMillis())) {
+            LOGGER.warn("KNX connection lost: {}", reason);
+        }
+    }
+
+    private void connected() {
+        reconnects.incrementAndGet();
+        final long since = disconnectedSince.getAndSet(0);
+        if (since == 0) {
+            // another tunnel of the pool was connected all along
+            LOGGER.info("KNX tunnel connected");
+        }
+        else {
+            final long down = System.currentTimeMillis() - since;
+            LOGGER.info("KNX connection established, down for {} ms", down);
+            // writes queued that long ago are outdated, f.i. moving blinds long after the command
+            if (down >= downAfterMillis) {
+                dropPendingWrites();
+            }
+        }
+        if (communicator != null) {
+            startReplay();
+        }
     }
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        ensureConnection();
+        KnxMetrics.enable(metricsEnabled);
+        writeScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "write coalescer");
+            t.setDaemon(true);
+            return t;
+        });
+        coalescer = new WriteCoalescer(this::write, debounceMillis, writeScheduler);
+        final Connector connector = new Connector()
+                .reconnectOn(true, true, true)
+                .maxConnectAttempts(Connector.NoMaxAttempts)
+                .connectOnSend(false)
+                .reconnectDelay(Duration.ofMillis(reconnectDelayMillis))
+                .reconnectBackoff(Duration.ofMillis(maxReconnectDelayMillis))
+                .onConnect(this::connected);
+        final TPSettings medium = new TPSettings();
+        final KNXNetworkLink link;
+        if (simulated) {
+            link = simulatedInstallation.open();
+        }
+        else if (tunnels > 1) {
+            // every tunnel needs its own local port
+            final InetSocketAddress local = new InetSocketAddress(me.getHostString(), 0);
+            final List<KNXNetworkLink> links = new ArrayList<>();
+            for (int i = 0; i < tunnels; i++) {
+                links.add(connector.newLink(() -> KNXNetworkLinkIP.newTunnelingLink(local, server, false, medium)));
+            }
+            link = new KNXNetworkLinkPool("tunnel pool", links);
+        }
+        else {
+            link = connector.newLink(() -> KNXNetworkLinkIP.newTunnelingLink(me, server, false, medium));
+        }
+        final KNXNetworkLinkGovernor governor = new KNXNetworkLinkGovernor(link, telegramsPerSecond, burst,
+                maxWaitMillis);
+        governor.addLinkListener(outageListener);
+        final ProcessCommunicator pc = new ProcessCommunicatorImpl(governor);
+        pc.addProcessListener(groupAdressListenerService);
+        connection = governor;
+        communicator = pc;
+        if (simulated) {
+            LOGGER.info("Using {}", link);
+            connected();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (writeScheduler != null) {
+            writeScheduler.shutdownNow();
+        }
+        final ProcessCommunicator pc = communicator;
+        if (pc != null) {
+            pc.detach();
+        }
+        final KNXNetworkLink link = connection;
+        if (link != null) {
+            link.close();
+        }
     }
 }
@@ -0,0 +1,38 @@
+package com.stift.housecontrol.connection;
+
+/**
+ * Group read counters of the communicator.
+ */
+public class ReadStats {
+
+    private final long reads;
+    private final long requests;
+    private final long coalesced;
+
+    public ReadStats(long reads, long requests, long coalesced) {
+        this.reads = reads;
+        this.requests = requests;
+        this.coalesced = coalesced;
+    }
+
+    /**
+     * @return group reads not answered from the state cache
+     */
+    public long getReads() {
+        return reads;
+    }
+
+    /**
+     * @return group read requests sent to the bus
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return reads which shared the request of a concurrent read of the same group address
+     */
+    public long getCoalesced() {
+        return coalesced;
+    }
+}
@@ -0,0 +1,112 @@
+package com.stift.housecontrol.connection;
+
+import com.stift.housecontrol.model.Jalousie;
+import com.stift.housecontrol.model.Light;
+import com.stift.housecontrol.model.Mess;
+import com.stift.housecontrol.model.Plug;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.dptxlator.DPTXlator2ByteFloat;
+import tuwien.auto.calimero.link.KNXNetworkLinkSimulator;
+import tuwien.auto.calimero.link.medium.TPSettings;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Simulated KNX installation with the group addresses of the house model, used instead of the gateway with
+ * <code>knx.connection.simulated=true</code>.
+ * <p>
+ * Lights, plugs and jalousies answer reads with their last written value. The measurements are written cyclically
+ * like weather station sensors, and filler devices in main group 31 add background traffic. The load factor
+ * multiplies the rate of all cyclic writes, f.i. 10 to load the bus with ten times the usual traffic.
+ */
+@Component
+public class SimulatedInstallation {
+
+    private static final IndividualAddress ACTUATOR = new IndividualAddress(1, 1, 20);
+    private static final IndividualAddress WEATHER_STATION = new IndividualAddress(1, 1, 30);
+
+    @Value("${knx.simulation.telegrams-per-second:50}")
+    private double telegramsPerSecond = 50;
+    @Value("${knx.simulation.confirmation-latency-ms:10}")
+    private long confirmationLatencyMillis = 10;
+    @Value("${knx.simulation.jitter-ms:5}")
+    private long jitterMillis = 5;
+    @Value("${knx.simulation.response-delay-ms:5}")
+    private long responseDelayMillis = 5;
+    @Value("${knx.simulation.sensor-period-ms:10000}")
+    private long sensorPeriodMillis = 10000;
+    @Value("${knx.simulation.background-telegrams-per-second:5}")
+    private double backgroundTelegramsPerSecond = 5;
+    @Value("${knx.simulation.load-factor:1}")
+    private double loadFactor = 1;
+
+    /**
+     * Creates a link to a new simulated installation.
+     */
+    public KNXNetworkLinkSimulator open() throws KNXFormatException {
+        final KNXNetworkLinkSimulator link = new KNXNetworkLinkSimulator("simulation",
+                new TPSettings(new IndividualAddress(1, 1, 250)))
+                .telegramsPerSecond(telegramsPerSecond)
+                .confirmationLatency(Duration.ofMillis(confirmationLatencyMillis), Duration.ofMillis(jitterMillis))
+                .responseDelay(Duration.ofMillis(responseDelayMillis));
+
+        for (Light light : Light.values()) {
+            link.groupObject(ACTUATOR, light.getGroupAddress(), new byte[] { 0 }, true);
+        }
+        for (Plug plug : Plug.values()) {
+            link.groupObject(ACTUATOR, plug.getGroupAddress(), new byte[] { 0 }, true);
+        }
+        for (Jalousie jalousie : Jalousie.values()) {
+            link.groupObject(ACTUATOR, jalousie.getGroupAddress(), new byte[] { 0 }, false);
+        }
+
+        final Duration sensorPeriod = scaled(1000.0 / sensorPeriodMillis);
+        link.cyclic(WEATHER_STATION, Mess.TEMP.getGroupAddress(), sensorPeriod, randomWalk(21, 0.1), false);
+        link.cyclic(WEATHER_STATION, Mess.FEELED_TEMP.getGroupAddress(), sensorPeriod, randomWalk(20, 0.1), false);
+        link.cyclic(WEATHER_STATION, Mess.HELLIGKEIT1.getGroupAddress(), sensorPeriod, randomWalk(5000, 200), false);
+        link.cyclic(WEATHER_STATION, Mess.WIND.getGroupAddress(), sensorPeriod, randomWalk(3, 0.5), false);
+        link.cyclic(WEATHER_STATION, Mess.REGEN.getGroupAddress(), sensorPeriod, () -> new byte[] { 0 }, true);
+        link.cyclic(WEATHER_STATION, Mess.DATE.getGroupAddress(), sensorPeriod, SimulatedInstallation::today, false);
+
+        // filler devices, each writing once per second
+        final int fillers = (int) Math.ceil(backgroundTelegramsPerSecond);
+        for (int i = 0; i < fillers; i++) {
+            final GroupAddress ga = GroupAddress.of(31, 7, i);
+            link.cyclic(IndividualAddress.of(1, 2, i + 1), ga, scaled(backgroundTelegramsPerSecond / fillers),
+                    randomWalk(50, 1), false);
+        }
+        return link;
+    }
+
+    // period of a cyclic write at the given rate, multiplied by the load factor
+    private Duration scaled(double perSecond) {
+        return Duration.ofNanos((long) (1e9 / (perSecond * loadFactor)));
+    }
+
+    private static Supplier<byte[]> randomWalk(double start, double step) throws KNXFormatException {
+        final DPTXlator2ByteFloat t = new DPTXlator2ByteFloat(DPTXlator2ByteFloat.DPT_TEMPERATURE);
+        final double[] value = { start };
+        return () -> {
+            value[0] = Math.max(0, value[0] + ThreadLocalRandom.current().nextDouble(-step, step));
+            try {
+                t.setValue(value[0]);
+            } catch (KNXFormatException e) {
+                e.printStackTrace();
+            }
+            return t.getData();
+        };
+    }
+
+    // DPT 11.001
+    private static byte[] today() {
+        final LocalDate date = LocalDate.now();
+        return new byte[] { (byte) date.getDayOfMonth(), (byte) date.getMonthValue(), (byte) (date.getYear() % 100) };
+    }
+}
@@ -0,0 +1,35 @@
+package com.stift.housecontrol.connection;
+
+/**
+ * Result of a toggle operation.
+ */
+public class ToggleResult {
+
+    private final boolean state;
+    private final boolean fromKnownState;
+
+    public ToggleResult(boolean state, boolean fromKnownState) {
+        this.state = state;
+        this.fromKnownState = fromKnownState;
+    }
+
+    /**
+     * @return the new state that was written
+     */
+    public boolean getState() {
+        return state;
+    }
+
+    /**
+     * @return <code>true</code> if toggled from the last known value, <code>false</code> if the
+     *         actual state had to be read from the bus first
+     */
+    public boolean isFromKnownState() {
+        return fromKnownState;
+    }
+
+    @Override
+    public String toString() {
+        return "ToggleResult{" + "state=" + state + ", fromKnownState=" + fromKnownState + '}';
+    }
+}
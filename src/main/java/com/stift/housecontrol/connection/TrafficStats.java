@@ -0,0 +1,53 @@
+package com.stift.housecontrol.connection;
+
+/**
+ * Queue depth and wait times of one traffic class.
+ */
+public class TrafficStats {
+
+    private final String trafficClass;
+    private final int queued;
+    private final long sent;
+    private final long waitNanos;
+    private final long maxWaitNanos;
+    private final long timeouts;
+
+    public TrafficStats(String trafficClass, int queued, long sent, long waitNanos, long maxWaitNanos, long timeouts) {
+        this.trafficClass = trafficClass;
+        this.queued = queued;
+        this.sent = sent;
+        this.waitNanos = waitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.timeouts = timeouts;
+    }
+
+    public String getTrafficClass() {
+        return trafficClass;
+    }
+
+    /**
+     * @return requests currently waiting for the bus budget
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public double getAverageWaitMillis() {
+        return sent == 0 ? 0 : waitNanos / 1e6 / sent;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1e6;
+    }
+
+    /**
+     * @return requests given up after waiting <code>knx.busload.max-wait-ms</code>
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+}
@@ -0,0 +1,148 @@
+package com.stift.housecontrol.connection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.link.KNXNetworkLinkGovernor;
+import tuwien.auto.calimero.link.KNXNetworkLinkGovernor.TrafficClass;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outbound write stage with one "latest value wins" slot per group address.
+ * <p>
+ * The first write to an idle group address is sent immediately by the calling thread. Writes to the same address
+ * arriving while it is sent or within the debounce window afterwards replace each other, and every one of them restarts
+ * the window; the last one is sent once no write arrived for the debounce time. A burst of writes therefore results in
+ * two telegrams, the first and the last value.
+ */
+class WriteCoalescer {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+    interface Sender {
+        void send(GroupAddress groupAddress, DPTXlator value) throws KNXException;
+    }
+
+    private static final class Slot {
+        final GroupAddress groupAddress;
+        DPTXlator pending;
+        // traffic class of the thread which wrote the pending value
+        TrafficClass trafficClass;
+        // incremented by every write, a timer of an older generation has been superseded
+        long generation;
+        boolean sending;
+        ScheduledFuture<?> timer;
+
+        Slot(GroupAddress groupAddress) {
+            this.groupAddress = groupAddress;
+        }
+    }
+
+    private final Sender sender;
+    private final long debounceMillis;
+    private final ScheduledExecutorService scheduler;
+    // active slots by raw group address, removed once a window ends without pending write; guards the slots
+    private final Map<Integer, Slot> slots = new HashMap<>();
+
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder telegrams = new LongAdder();
+    private final LongAdder superseded = new LongAdder();
+
+    WriteCoalescer(Sender sender, long debounceMillis, ScheduledExecutorService scheduler) {
+        this.sender = sender;
+        this.debounceMillis = debounceMillis;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Writes the value, or keeps it as latest value of the group address if a write is in progress or the debounce
+     * window is open. Errors of a deferred write are only logged.
+     */
+    void write(GroupAddress groupAddress, DPTXlator value) throws KNXException {
+        writes.increment();
+        final int raw = groupAddress.getRawAddress();
+        final Slot slot;
+        synchronized (slots) {
+            final Slot active = slots.get(raw);
+            if (active != null) {
+                if (active.pending != null) {
+                    superseded.increment();
+                }
+                active.pending = value;
+                active.trafficClass = KNXNetworkLinkGovernor.trafficClass();
+                active.generation++;
+                if (!active.sending) {
+                    restart(raw, active);
+                }
+                return;
+            }
+            slot = new Slot(groupAddress);
+            slot.sending = true;
+            slots.put(raw, slot);
+        }
+        try {
+            sender.send(groupAddress, value);
+            telegrams.increment();
+        } finally {
+            sent(raw, slot);
+        }
+    }
+
+    @SuppressWarnings("try")
+    private void flush(int raw, long generation) {
+        final Slot slot;
+        final DPTXlator value;
+        final TrafficClass trafficClass;
+        synchronized (slots) {
+            slot = slots.get(raw);
+            if (slot == null || slot.generation != generation || slot.sending) {
+                return;
+            }
+            value = slot.pending;
+            trafficClass = slot.trafficClass;
+            slot.pending = null;
+            if (value == null) {
+                slots.remove(raw);
+                return;
+            }
+            slot.sending = true;
+        }
+        try (KNXNetworkLinkGovernor.Scope scope = KNXNetworkLinkGovernor.scope(trafficClass)) {
+            sender.send(slot.groupAddress, value);
+            telegrams.increment();
+        } catch (KNXException e) {
+            LOGGER.warn("Deferred write to {} failed: {}", slot.groupAddress, e.getMessage());
+        } finally {
+            sent(raw, slot);
+        }
+    }
+
+    // a send has completed, the window starts now
+    private void sent(int raw, Slot slot) {
+        synchronized (slots) {
+            slot.sending = false;
+            restart(raw, slot);
+        }
+    }
+
+    // guarded by slots
+    private void restart(int raw, Slot slot) {
+        if (slot.timer != null) {
+            slot.timer.cancel(false);
+        }
+        final long generation = slot.generation;
+        slot.timer = scheduler.schedule(() -> flush(raw, generation), debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    WriteStats getStats() {
+        return new WriteStats(writes.sum(), telegrams.sum(), superseded.sum(), debounceMillis);
+    }
+}
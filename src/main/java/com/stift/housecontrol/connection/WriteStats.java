@@ -0,0 +1,51 @@
+package com.stift.housecontrol.connection;
+
+/**
+ * Counters of the coalesced writes.
+ */
+public class WriteStats {
+
+    private final long writes;
+    private final long telegrams;
+    private final long superseded;
+    private final long debounceMillis;
+
+    public WriteStats(long writes, long telegrams, long superseded, long debounceMillis) {
+        this.writes = writes;
+        this.telegrams = telegrams;
+        this.superseded = superseded;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * @return writes requested
+     */
+    public long getWrites() {
+        return writes;
+    }
+
+    /**
+     * @return telegrams sent for the requested writes
+     */
+    public long getTelegrams() {
+        return telegrams;
+    }
+
+    /**
+     * @return writes replaced by a newer value for the same group address before being sent
+     */
+    public long getSuperseded() {
+        return superseded;
+    }
+
+    /**
+     * @return telegrams saved by coalescing, including writes still waiting for their window to end
+     */
+    public long getSaved() {
+        return writes - telegrams;
+    }
+
+    public long getDebounceMillis() {
+        return debounceMillis;
+    }
+}
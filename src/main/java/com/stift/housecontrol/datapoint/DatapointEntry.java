@@ -0,0 +1,53 @@
+package com.stift.housecontrol.datapoint;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+import tuwien.auto.calimero.datapoint.StateDP;
+
+/**
+ * Datapoint of the index, with its datapoint built and its codec resolved when the index is loaded.
+ */
+public final class DatapointEntry {
+
+    private final String name;
+    private final Datapoint datapoint;
+    // without DPT, the process communicator reads the ASDU without creating a translator
+    private final Datapoint rawDatapoint;
+    private final DptCodec codec;
+
+    DatapointEntry(String name, Datapoint datapoint, DptCodec codec) {
+        this.name = name;
+        this.datapoint = datapoint;
+        this.codec = codec;
+        rawDatapoint = new StateDP(datapoint.getMainAddress(), name);
+        rawDatapoint.setPriority(datapoint.getPriority());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Datapoint getDatapoint() {
+        return datapoint;
+    }
+
+    /**
+     * @return the datapoint without datapoint type, a read returns the ASDU in hexadecimal
+     */
+    public Datapoint getRawDatapoint() {
+        return rawDatapoint;
+    }
+
+    public GroupAddress getGroupAddress() {
+        return datapoint.getMainAddress();
+    }
+
+    public DptCodec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + datapoint.getMainAddress() + " (DPT " + codec + ")";
+    }
+}
@@ -0,0 +1,178 @@
+package com.stift.housecontrol.datapoint;
+
+import com.stift.housecontrol.model.Jalousie;
+import com.stift.housecontrol.model.Light;
+import com.stift.housecontrol.model.Mess;
+import com.stift.housecontrol.model.Plug;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.Datapoint;
+import tuwien.auto.calimero.datapoint.DatapointMap;
+import tuwien.auto.calimero.datapoint.StateDP;
+import tuwien.auto.calimero.xml.XmlInputFactory;
+import tuwien.auto.calimero.xml.XmlReader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index of all datapoints by name, built once at startup.
+ * <p>
+ * The index contains the datapoints of the model enums, named by enum type and constant, f.i.
+ * <code>light.EG_KUECHE_ESSTISCH</code> or <code>mess.TEMP</code>. With <code>knx.datapoints.location</code> set,
+ * the datapoints of a calimero datapoint map (<code>.xml</code>) or an ETS group address export (<code>.csv</code>)
+ * are added, replacing model datapoints of the same name. Datapoints without datapoint type are skipped.
+ */
+@Service
+public class DatapointIndex implements InitializingBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+    @Value("${knx.datapoints.location:}")
+    private String location = "";
+
+    private Map<String, DatapointEntry> entries = Collections.emptyMap();
+
+    /**
+     * @param name datapoint name
+     * @return the datapoint, <code>null</code> if there is none of that name
+     */
+    public DatapointEntry get(String name) {
+        return entries.get(name);
+    }
+
+    public Collection<DatapointEntry> getEntries() {
+        return entries.values();
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        final Map<String, DatapointEntry> index = new LinkedHashMap<>();
+        for (Light light : Light.values()) {
+            add(index, "light." + light.name(), light.getGroupAddress(), "1.001");
+        }
+        for (Plug plug : Plug.values()) {
+            add(index, "plug." + plug.name(), plug.getGroupAddress(), "1.001");
+        }
+        for (Jalousie jalousie : Jalousie.values()) {
+            add(index, "jalousie." + jalousie.name(), jalousie.getGroupAddress(), "5.001");
+        }
+        for (Mess mess : Mess.values()) {
+            add(index, "mess." + mess.name(), mess.getGroupAddress(), mess.getDptId());
+        }
+        if (!location.isEmpty()) {
+            final List<Datapoint> datapoints = location.toLowerCase().endsWith(".csv") ? loadEtsExport() : loadDatapointMap();
+            for (Datapoint dp : datapoints) {
+                if (dp.getDPT() == null && dp.getMainNumber() == 0) {
+                    LOGGER.warn("Skip datapoint {} without datapoint type", dp);
+                    continue;
+                }
+                try {
+                    final DptCodec codec = DptCodec.of(dp.getMainNumber(), dp.getDPT());
+                    dp.setDPT(dp.getMainNumber(), codec.getDptId());
+                    index.put(dp.getName(), new DatapointEntry(dp.getName(), dp, codec));
+                } catch (KNXException e) {
+                    LOGGER.warn("Skip datapoint {}: {}", dp, e.getMessage());
+                }
+            }
+        }
+        entries = Collections.unmodifiableMap(index);
+        LOGGER.info("Indexed {} datapoints", entries.size());
+    }
+
+    private static void add(Map<String, DatapointEntry> index, String name, GroupAddress ga, String dptId)
+            throws KNXException {
+        final Datapoint dp = new StateDP(ga, name, 0, dptId);
+        index.put(name, new DatapointEntry(name, dp, DptCodec.of(0, dptId)));
+    }
+
+    private List<Datapoint> loadDatapointMap() throws KNXException {
+        final DatapointMap<Datapoint> map = new DatapointMap<>();
+        try (XmlReader r = XmlInputFactory.newInstance().createXMLReader(location)) {
+            map.load(r);
+        }
+        return new ArrayList<>(map.getDatapoints());
+    }
+
+    /**
+     * Reads an ETS group address export in CSV format (one column address format), using the columns
+     * <code>Group name</code>, <code>Address</code> and <code>DatapointType</code>, f.i. <code>DPST-9-1</code>.
+     */
+    private List<Datapoint> loadEtsExport() throws IOException, KNXFormatException {
+        final List<String> lines = Files.readAllLines(Paths.get(location), StandardCharsets.UTF_8);
+        final List<Datapoint> datapoints = new ArrayList<>();
+        if (lines.isEmpty()) {
+            return datapoints;
+        }
+        final String header = lines.get(0).replace("\uFEFF", "");
+        final char separator = header.indexOf(';') >= 0 ? ';' : header.indexOf('\t') >= 0 ? '\t' : ',';
+        final List<String> columns = split(header, separator);
+        final int name = columns.indexOf("Group name");
+        final int address = columns.indexOf("Address");
+        final int type = columns.indexOf("DatapointType");
+        if (name < 0 || address < 0 || type < 0) {
+            throw new KNXFormatException("no ETS group address export, columns " + columns);
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            final List<String> fields = split(line, separator);
+            if (fields.size() <= Math.max(name, Math.max(address, type))) {
+                continue;
+            }
+            // main and middle groups are exported as 1/-/- and 1/1/-
+            final String ga = fields.get(address);
+            if (ga.isEmpty() || ga.contains("-")) {
+                continue;
+            }
+            final Datapoint dp = new StateDP(GroupAddress.from(ga), fields.get(name));
+            final String dpt = fields.get(type);
+            // DPST-<main>-<sub> or DPT-<main>
+            final String[] parts = dpt.split("-");
+            if (parts.length == 3) {
+                dp.setDPT(0, String.format("%s.%03d", parts[1], Integer.parseInt(parts[2])));
+            } else if (parts.length == 2) {
+                dp.setDPT(Integer.parseInt(parts[1]), null);
+            }
+            datapoints.add(dp);
+        }
+        return datapoints;
+    }
+
+    // splits a CSV line, fields might be quoted
+    private static List<String> split(String line, char separator) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == separator && !quoted) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
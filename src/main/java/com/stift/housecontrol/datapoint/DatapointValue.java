@@ -0,0 +1,53 @@
+package com.stift.housecontrol.datapoint;
+
+/**
+ * Value of a datapoint, as answered by the datapoint API.
+ */
+public class DatapointValue {
+
+    private final String name;
+    private final String address;
+    private final String dpt;
+    private final String value;
+    private final String unit;
+    private final boolean cached;
+
+    public DatapointValue(String name, String address, String dpt, String value, String unit, boolean cached) {
+        this.name = name;
+        this.address = address;
+        this.dpt = dpt;
+        this.value = value;
+        this.unit = unit;
+        this.cached = cached;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getDpt() {
+        return dpt;
+    }
+
+    /**
+     * @return value without unit, <code>null</code> for a datapoint listing
+     */
+    public String getValue() {
+        return value;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return <code>true</code> if the value was answered from the state cache instead of a bus read
+     */
+    public boolean isCached() {
+        return cached;
+    }
+}
@@ -0,0 +1,98 @@
+package com.stift.housecontrol.datapoint;
+
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Value codec of a datapoint type, resolved once when the datapoint index is built.
+ * <p>
+ * Decoding uses a single translator per codec, so it neither looks up the datapoint type nor creates a translator.
+ * Encoding creates the translator handed to the write queue directly from the resolved constructor.
+ */
+public final class DptCodec {
+
+    private final String dptId;
+    private final Constructor<? extends DPTXlator> constructor;
+    // guarded by itself
+    private final DPTXlator decoder;
+
+    private DptCodec(String dptId, Constructor<? extends DPTXlator> constructor, DPTXlator decoder) {
+        this.dptId = dptId;
+        this.constructor = constructor;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Resolves the codec of a datapoint type.
+     *
+     * @param mainNumber datapoint type main number, 0 to derive it from the ID
+     * @param dptId datapoint type ID, f.i. <code>9.001</code>, <code>null</code> for the first type of the main number
+     * @return the codec
+     * @throws KNXException if there is no translator for the datapoint type
+     */
+    public static DptCodec of(int mainNumber, String dptId) throws KNXException {
+        final DPTXlator decoder = TranslatorTypes.createTranslator(mainNumber, dptId);
+        decoder.setAppendUnit(false);
+        try {
+            return new DptCodec(decoder.getType().getID(), decoder.getClass().getConstructor(String.class), decoder);
+        } catch (NoSuchMethodException e) {
+            throw new KNXException("no translator constructor for DPT " + dptId, e);
+        }
+    }
+
+    public String getDptId() {
+        return dptId;
+    }
+
+    /**
+     * @return size of the datapoint type in bytes, 0 for types of at most 6 bits
+     */
+    public int getTypeSize() {
+        return decoder.getTypeSize();
+    }
+
+    /**
+     * @return unit of the datapoint type, empty if there is none
+     */
+    public String getUnit() {
+        return decoder.getType().getUnit();
+    }
+
+    /**
+     * @param asdu ASDU of a group write or response
+     * @return value without unit
+     */
+    public String decode(byte[] asdu) {
+        synchronized (decoder) {
+            decoder.setData(asdu);
+            return decoder.getValue();
+        }
+    }
+
+    /**
+     * @param value value as accepted by the translator, without or with unit
+     * @return translator holding the encoded value
+     */
+    public DPTXlator encode(String value) throws KNXException {
+        final DPTXlator t;
+        try {
+            t = constructor.newInstance(dptId);
+        } catch (InvocationTargetException e) {
+            throw new KNXFormatException("failed to init translator", dptId);
+        } catch (ReflectiveOperationException e) {
+            throw new KNXException("failed to create translator for DPT " + dptId, e);
+        }
+        t.setValue(value);
+        return t;
+    }
+
+    @Override
+    public String toString() {
+        return dptId;
+    }
+}
@@ -0,0 +1,110 @@
+package com.stift.housecontrol.event;
+
+import tuwien.auto.calimero.KNXFormatException;
+
+/**
+ * Stateless decoders for the common datapoint types, working directly on the ASDU without creating a DPT translator.
+ * The results are the same as of the corresponding calimero translators.
+ */
+public final class DptCodecs {
+
+    private DptCodecs() {}
+
+    /**
+     * DPT 1.xxx
+     *
+     * @param asdu ASDU, length &gt;= 1
+     * @return boolean value
+     */
+    public static boolean decodeBool(byte[] asdu) throws KNXFormatException {
+        requireLength(asdu, 1, "1.xxx");
+        return (asdu[0] & 0x01) != 0;
+    }
+
+    /**
+     * DPT 5.xxx, unscaled.
+     *
+     * @param asdu ASDU, length &gt;= 1
+     * @return 0..255
+     */
+    public static int decodeUnsigned8(byte[] asdu) throws KNXFormatException {
+        requireLength(asdu, 1, "5.xxx");
+        return asdu[0] & 0xff;
+    }
+
+    /**
+     * DPT 5.001, 0..255 mapped to 0..100 %.
+     *
+     * @param asdu ASDU, length &gt;= 1
+     * @return 0..100
+     */
+    public static int decodeScaling(byte[] asdu) throws KNXFormatException {
+        return scaling(decodeUnsigned8(asdu));
+    }
+
+    /**
+     * Maps an unscaled DPT 5 value to 0..100 %.
+     *
+     * @param unsigned 0..255
+     * @return 0..100
+     */
+    public static int scaling(int unsigned) {
+        return Math.round(unsigned * 100.0f / 255);
+    }
+
+    /**
+     * DPT 5.003, 0..255 mapped to 0..360 degree.
+     *
+     * @param asdu ASDU, length &gt;= 1
+     * @return 0..360
+     */
+    public static int decodeAngle(byte[] asdu) throws KNXFormatException {
+        return angle(decodeUnsigned8(asdu));
+    }
+
+    /**
+     * Maps an unscaled DPT 5 value to 0..360 degree.
+     *
+     * @param unsigned 0..255
+     * @return 0..360
+     */
+    public static int angle(int unsigned) {
+        return Math.round(unsigned * 360.0f / 255);
+    }
+
+    /**
+     * DPT 9.xxx, 2-byte KNX float.
+     *
+     * @param asdu ASDU, length &gt;= 2
+     * @return decoded value
+     */
+    public static double decode2ByteFloat(byte[] asdu) throws KNXFormatException {
+        requireLength(asdu, 2, "9.xxx");
+        final int high = asdu[0] & 0xff;
+        final int low = asdu[1] & 0xff;
+        // DPT bits high byte: MEEEEMMM, low byte: MMMMMMMM
+        // left align all mantissa bits, then normalize
+        final int mantissa = (((high & 0x80) << 24) | ((high & 0x7) << 28) | (low << 20)) >> 20;
+        final int exp = (high & 0x78) >> 3;
+        return (1 << exp) * mantissa * 0.01;
+    }
+
+    /**
+     * DPT 14.xxx, 4-byte IEEE float.
+     *
+     * @param asdu ASDU, length &gt;= 4
+     * @return decoded value
+     */
+    public static float decode4ByteFloat(byte[] asdu) throws KNXFormatException {
+        requireLength(asdu, 4, "14.xxx");
+        final int bits = (asdu[0] & 0xff) << 24 | (asdu[1] & 0xff) << 16 | (asdu[2] & 0xff) << 8 | (asdu[3] & 0xff);
+        return Float.intBitsToFloat(bits);
+    }
+
+    private static void requireLength(byte[] asdu, int length, String dpt) throws KNXFormatException {
+        if (asdu.length < length) {
+            throw new KNXFormatException("DPT " + dpt + ": data length " + asdu.length + " < required datapoint type width "
+                    + length);
+        }
+    }
+}
@@ -23,6 +23,18 @@ public class GroupAddressEvent {
 
     private final Type type;
 
+    // values decoded so far, see DECODED_* flags; a racing listener thread at worst decodes again
+    private volatile int decoded;
+    private boolean boolValue;
+    private int unsigned8Value;
+    private double float2Value;
+    private float float4Value;
+
+    private static final int DECODED_BOOL = 1;
+    private static final int DECODED_UNSIGNED8 = 2;
+    private static final int DECODED_FLOAT2 = 4;
+    private static final int DECODED_FLOAT4 = 8;
+
     public GroupAddressEvent(String source, GroupAddress destination, Type type, byte[] data) {
         this.source = source;
         this.destination = destination;
@@ -73,9 +85,11 @@ public class GroupAddressEvent {
      * @return the received value of type boolean
      */
     public boolean asBool() throws KNXFormatException {
-        final DPTXlatorBoolean t = new DPTXlatorBoolean(DPTXlatorBoolean.DPT_BOOL);
-        t.setData(data);
-        return t.getValueBoolean();
+        if ((decoded & DECODED_BOOL) == 0) {
+            boolValue = DptCodecs.decodeBool(data);
+            decoded |= DECODED_BOOL;
+        }
+        return boolValue;
     }
 
     /**
@@ -85,9 +99,11 @@ public class GroupAddressEvent {
      * @return 8 bit value 0..255
      */
     public int asUnscaled() throws KNXFormatException {
-        final DPTXlator8BitUnsigned t = new DPTXlator8BitUnsigned(ProcessCommunication.UNSCALED);
-        t.setData(data);
-        return t.getValueUnsigned();
+        if ((decoded & DECODED_UNSIGNED8) == 0) {
+            unsigned8Value = DptCodecs.decodeUnsigned8(data);
+            decoded |= DECODED_UNSIGNED8;
+        }
+        return unsigned8Value;
     }
 
     /**
@@ -97,9 +113,7 @@ public class GroupAddressEvent {
      * @return 8 bit value 0..255 mapped to 0..100, f.i. %
      */
     public int asScaled() throws KNXFormatException {
-        final DPTXlator8BitUnsigned t = new DPTXlator8BitUnsigned(ProcessCommunication.SCALING);
-        t.setData(data);
-        return t.getValueUnsigned();
+        return DptCodecs.scaling(asUnscaled());
     }
 
     /**
@@ -109,9 +123,7 @@ public class GroupAddressEvent {
      * @return 8 bit value 0..255 mapped to 0..360°
      */
     public int asAngle() throws KNXFormatException {
-        final DPTXlator8BitUnsigned t = new DPTXlator8BitUnsigned(ProcessCommunication.ANGLE);
-        t.setData(data);
-        return t.getValueUnsigned();
+        return DptCodecs.angle(asUnscaled());
     }
 
     /**
@@ -145,10 +157,11 @@ public class GroupAddressEvent {
      * @return the received value of type float
      */
     public float as2ByteFloat() throws KNXFormatException {
-        final DPTXlator2ByteFloat t = new DPTXlator2ByteFloat(
-                DPTXlator2ByteFloat.DPT_RAIN_AMOUNT /* using rainamount to get full 2byte spectrum */);
-        t.setData(data);
-        return (float) t.getNumericValue();
+        if ((decoded & DECODED_FLOAT2) == 0) {
+            float2Value = DptCodecs.decode2ByteFloat(data);
+            decoded |= DECODED_FLOAT2;
+        }
+        return (float) float2Value;
     }
 
     public float as2ByteFloat(DPTXlator2ByteFloat t) throws KNXFormatException {
@@ -164,10 +177,11 @@ public class GroupAddressEvent {
      * @return the received value of type double
      */
     public double as4ByteFloat() throws KNXFormatException {
-            final DPTXlator4ByteFloat t = new DPTXlator4ByteFloat(
-                    DPTXlator4ByteFloat.DPT_TEMPERATURE_DIFFERENCE);
-            t.setData(data);
-            return t.getValueFloat();
+        if ((decoded & DECODED_FLOAT4) == 0) {
+            float4Value = DptCodecs.decode4ByteFloat(data);
+            decoded |= DECODED_FLOAT4;
+        }
+        return float4Value;
     }
 
     /**
@@ -0,0 +1,85 @@
+package com.stift.housecontrol.health;
+
+/**
+ * Result of the link health monitoring, immutable.
+ */
+public class HealthStatus {
+
+    private final LinkState state;
+    private final long since;
+    private final boolean tunnelOpen;
+    private final long lastProbe;
+    private final int consecutiveFailures;
+    private final String lastError;
+    private final long budgetTimeouts;
+    private final String probeAddress;
+    private final LatencySummary confirmation;
+    private final LatencySummary response;
+
+    public HealthStatus(LinkState state, long since, boolean tunnelOpen, long lastProbe, int consecutiveFailures,
+                        String lastError, long budgetTimeouts, String probeAddress,
+                        LatencySummary confirmation, LatencySummary response) {
+        this.state = state;
+        this.since = since;
+        this.tunnelOpen = tunnelOpen;
+        this.lastProbe = lastProbe;
+        this.consecutiveFailures = consecutiveFailures;
+        this.lastError = lastError;
+        this.budgetTimeouts = budgetTimeouts;
+        this.probeAddress = probeAddress;
+        this.confirmation = confirmation;
+        this.response = response;
+    }
+
+    public LinkState getState() {
+        return state;
+    }
+
+    /**
+     * @return time of the last state change in milliseconds since the epoch
+     */
+    public long getSince() {
+        return since;
+    }
+
+    public boolean isTunnelOpen() {
+        return tunnelOpen;
+    }
+
+    public long getLastProbe() {
+        return lastProbe;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * @return number of probes skipped for not getting bus budget in time, they do not count as failures
+     */
+    public long getBudgetTimeouts() {
+        return budgetTimeouts;
+    }
+
+    public String getProbeAddress() {
+        return probeAddress;
+    }
+
+    /**
+     * @return latency from sending the probe read to its L_Data.con
+     */
+    public LatencySummary getConfirmation() {
+        return confirmation;
+    }
+
+    /**
+     * @return latency from sending the probe read to the group read response
+     */
+    public LatencySummary getResponse() {
+        return response;
+    }
+}
@@ -0,0 +1,57 @@
+package com.stift.housecontrol.health;
+
+import tuwien.auto.calimero.metrics.LatencyHistogram;
+
+/**
+ * Values of a latency histogram at one point in time. Percentiles are upper bounds of histogram buckets, with a
+ * relative error of at most 12.5 %.
+ */
+public class LatencySummary {
+
+    private final long count;
+    private final double avgMillis;
+    private final double maxMillis;
+    private final double p50;
+    private final double p95;
+    private final double p99;
+
+    private LatencySummary(long count, double avgMillis, double maxMillis, double p50, double p95, double p99) {
+        this.count = count;
+        this.avgMillis = avgMillis;
+        this.maxMillis = maxMillis;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+    }
+
+    public static LatencySummary of(LatencyHistogram histogram) {
+        final long count = histogram.count();
+        final long[] micros = histogram.quantilesMicros(0.5, 0.95, 0.99, 1);
+        return new LatencySummary(count, count == 0 ? 0 : histogram.sumMicros() / 1000.0 / count,
+                micros[3] / 1000.0, micros[0] / 1000.0, micros[1] / 1000.0, micros[2] / 1000.0);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getAvgMillis() {
+        return avgMillis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP95() {
+        return p95;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+}
@@ -0,0 +1,185 @@
+package com.stift.housecontrol.health;
+
+import com.stift.housecontrol.connection.KnxConnectionService;
+import com.stift.housecontrol.state.GroupAddressStateCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXTimeoutException;
+import tuwien.auto.calimero.Priority;
+import tuwien.auto.calimero.link.KNXLinkClosedException;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+import tuwien.auto.calimero.link.KNXNetworkLinkGovernor;
+import tuwien.auto.calimero.link.KNXNetworkLinkGovernor.TrafficClass;
+import tuwien.auto.calimero.metrics.LatencyHistogram;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Probes the KNX link periodically with a group read of <code>knx.health.probe-address</code>.
+ * <p>
+ * Every probe measures the time from sending the read to its L_Data.con and to the read response. The probe waits for
+ * its bus budget as background traffic before it is sent, this wait is not measured; a probe not getting a budget in
+ * time is counted separately and does not change the link state. The link is
+ * <code>UP</code> while probes succeed within <code>knx.health.degraded-latency-ms</code>, <code>DEGRADED</code> if
+ * they are slower or failed less than <code>knx.health.down-after</code> times in a row, and <code>DOWN</code>
+ * afterwards.
+ */
+@Component
+public class LinkHealthMonitor implements InitializingBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private KnxConnectionService knxConnectionService;
+    @Autowired
+    private GroupAddressStateCache stateCache;
+
+    @Value("${knx.health.probe-address:0/0/2}")
+    private String probeAddressValue = "0/0/2";
+    @Value("${knx.health.read-timeout-ms:3000}")
+    private long readTimeoutMillis = 3000;
+    @Value("${knx.health.degraded-latency-ms:1000}")
+    private long degradedLatencyMillis = 1000;
+    @Value("${knx.health.down-after:3}")
+    private int downAfter = 3;
+
+    private GroupAddress probeAddress;
+
+    private final LatencyHistogram confirmation = new LatencyHistogram("knx_health_probe_confirmation_seconds",
+            "time from sending the probe read to its L_Data.con");
+    private final LatencyHistogram response = new LatencyHistogram("knx_health_probe_response_seconds",
+            "time from sending the probe read to the read response");
+
+    // written by the probe only
+    private LinkState state = LinkState.UNKNOWN;
+    private long since = System.currentTimeMillis();
+    private boolean tunnelOpen;
+    private long lastProbe;
+    private int consecutiveFailures;
+    private String lastError;
+    private long budgetTimeouts;
+    // published at the end of every probe, read without locking
+    private volatile HealthStatus status;
+
+    @Scheduled(fixedDelayString = "${knx.health.interval-ms:30000}")
+    @SuppressWarnings("try")
+    public synchronized void probe() {
+        try (KNXNetworkLinkGovernor.Scope scope = KNXNetworkLinkGovernor.scope(TrafficClass.Background)) {
+            probeLink();
+        } finally {
+            publish();
+        }
+    }
+
+    private void probeLink() {
+        lastProbe = System.currentTimeMillis();
+        final KNXNetworkLink link;
+        try {
+            link = knxConnectionService.getLink();
+            tunnelOpen = true;
+        } catch (KNXLinkClosedException e) {
+            tunnelOpen = false;
+            failure("tunnel closed: " + e.getMessage());
+            return;
+        }
+
+        KNXNetworkLink target = link;
+        if (link instanceof KNXNetworkLinkGovernor) {
+            final KNXNetworkLinkGovernor governor = (KNXNetworkLinkGovernor) link;
+            try {
+                governor.acquireToken();
+            } catch (KNXTimeoutException e) {
+                budgetTimeouts++;
+                LOGGER.debug("Link probe skipped: {}", e.getMessage());
+                return;
+            } catch (KNXLinkClosedException e) {
+                tunnelOpen = false;
+                failure("tunnel closed: " + e.getMessage());
+                return;
+            }
+            target = governor.target();
+        }
+
+        final CompletableFuture<GroupAddressStateCache.State> answer = stateCache.nextResponse(probeAddress);
+        final long start = System.nanoTime();
+        try {
+            target.sendRequestWait(probeAddress, Priority.LOW, new byte[2]);
+            final long con = System.nanoTime() - start;
+            confirmation.record(con);
+
+            answer.get(readTimeoutMillis, TimeUnit.MILLISECONDS);
+            final long res = System.nanoTime() - start;
+            response.record(res);
+            success(TimeUnit.NANOSECONDS.toMillis(res));
+        } catch (KNXTimeoutException e) {
+            failure("no L_Data.con: " + e.getMessage());
+        } catch (KNXLinkClosedException e) {
+            tunnelOpen = false;
+            failure("tunnel closed: " + e.getMessage());
+        } catch (TimeoutException e) {
+            failure("no read response from " + probeAddress + " within " + readTimeoutMillis + " ms");
+        } catch (ExecutionException e) {
+            failure(String.valueOf(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return status as of the end of the last probe, returns immediately while a probe is running
+     */
+    public HealthStatus getStatus() {
+        return status;
+    }
+
+    private void publish() {
+        status = new HealthStatus(state, since, tunnelOpen, lastProbe, consecutiveFailures, lastError, budgetTimeouts,
+                probeAddress.toString(), LatencySummary.of(confirmation), LatencySummary.of(response));
+    }
+
+    private void success(long latencyMillis) {
+        consecutiveFailures = 0;
+        if (latencyMillis > degradedLatencyMillis) {
+            lastError = "slow read response: " + latencyMillis + " ms";
+            transition(LinkState.DEGRADED);
+        }
+        else {
+            transition(LinkState.UP);
+        }
+    }
+
+    private void failure(String error) {
+        consecutiveFailures++;
+        lastError = error;
+        transition(consecutiveFailures >= downAfter ? LinkState.DOWN : LinkState.DEGRADED);
+    }
+
+    private void transition(LinkState next) {
+        if (next == state) {
+            return;
+        }
+        if (next == LinkState.UP) {
+            LOGGER.info("KNX link {} -> {}", state, next);
+        }
+        else {
+            LOGGER.warn("KNX link {} -> {}: {}", state, next, lastError);
+        }
+        state = next;
+        since = System.currentTimeMillis();
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        probeAddress = GroupAddress.from(probeAddressValue);
+        publish();
+    }
+}
@@ -0,0 +1,13 @@
+package com.stift.housecontrol.health;
+
+/**
+ * Health state of the KNX link.
+ */
+public enum LinkState {
+    // no probe done yet
+    UNKNOWN,
+    UP,
+    // probes succeed slowly or failed recently
+    DEGRADED,
+    DOWN
+}
@@ -34,8 +34,9 @@ public class FeeledTempListener implements GroupAddressListener, InitializingBea
 
     @Override
     public void write(GroupAddressEvent event) throws KNXFormatException {
-        LOGGER.info("Received FeeledTempListener {}", event.as2ByteFloat());
-        currentMeasurements.setFeeledTemperature(event.as2ByteFloat());
+        final float value = event.as2ByteFloat();
+        LOGGER.info("Received FeeledTempListener {}", value);
+        currentMeasurements.setFeeledTemperature(value);
     }
 
     @Override
@@ -34,8 +34,9 @@ public class Helligkeit1Listener implements GroupAddressListener, InitializingBe
 
     @Override
     public void write(GroupAddressEvent event) throws KNXFormatException {
-        LOGGER.info("Received Hell1 {}", event.as2ByteFloat());
-        currentMeasurements.setHelligkeit1(event.as2ByteFloat());
+        final float value = event.as2ByteFloat();
+        LOGGER.info("Received Hell1 {}", value);
+        currentMeasurements.setHelligkeit1(value);
     }
 
     @Override
@@ -34,8 +34,9 @@ public class RainListener implements GroupAddressListener, InitializingBean {
 
     @Override
     public void write(GroupAddressEvent event) throws KNXFormatException {
-        LOGGER.info("Received RainListener {}", event.asBool());
-        currentMeasurements.setRain(event.asBool());
+        final boolean value = event.asBool();
+        LOGGER.info("Received RainListener {}", value);
+        currentMeasurements.setRain(value);
     }
 
     @Override
@@ -34,8 +34,9 @@ public class TemperatureListener implements GroupAddressListener, InitializingBe
 
     @Override
     public void write(GroupAddressEvent event) throws KNXFormatException {
-        LOGGER.info("Received TempListener {}", event.as2ByteFloat());
-        currentMeasurements.setTemperature(event.as2ByteFloat());
+        final float value = event.as2ByteFloat();
+        LOGGER.info("Received TempListener {}", value);
+        currentMeasurements.setTemperature(value);
     }
 
     @Override
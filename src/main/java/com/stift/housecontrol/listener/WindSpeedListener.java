@@ -34,8 +34,9 @@ public class WindSpeedListener implements GroupAddressListener, InitializingBean
 
     @Override
     public void write(GroupAddressEvent event) throws KNXFormatException {
-        LOGGER.info("Received WindSpeedListener {}", event.as2ByteFloat());
-        currentMeasurements.setWindSpeed(event.as2ByteFloat());
+        final float value = event.as2ByteFloat();
+        LOGGER.info("Received WindSpeedListener {}", value);
+        currentMeasurements.setWindSpeed(value);
     }
 
     @Override
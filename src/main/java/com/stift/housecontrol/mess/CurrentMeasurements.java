@@ -1,9 +1,30 @@
 package com.stift.housecontrol.mess;
 
+import com.stift.housecontrol.model.Mess;
+import com.stift.housecontrol.timeseries.TimeSeriesStore;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latest measurements received from the bus, together with a fixed-size history per measurement. All measurements
+ * are also persisted to the time-series store.
+ */
 @Component
-public class CurrentMeasurements {
+public class CurrentMeasurements implements InitializingBean {
+
+    @Autowired
+    private TimeSeriesStore timeSeriesStore;
+
+    @Value("${knx.mess.history-capacity:4096}")
+    private int historyCapacity = 4096;
+
+    private final Map<Mess, MeasurementHistory> histories = new EnumMap<>(Mess.class);
 
     private float feeledTemperature;
     private float temperature;
@@ -21,6 +42,7 @@ public class CurrentMeasurements {
 
     public void setFeeledTemperature(float feeledTemperature) {
         this.feeledTemperature = feeledTemperature;
+        record(Mess.FEELED_TEMP, feeledTemperature);
     }
 
     public float getTemperature() {
@@ -29,6 +51,7 @@ public class CurrentMeasurements {
 
     public void setTemperature(float temperature) {
         this.temperature = temperature;
+        record(Mess.TEMP, temperature);
     }
 
     public float getAbsHummidty() {
@@ -53,6 +76,7 @@ public class CurrentMeasurements {
 
     public void setHelligkeit1(float helligkeit1) {
         this.helligkeit1 = helligkeit1;
+        record(Mess.HELLIGKEIT1, helligkeit1);
     }
 
     public boolean isRain() {
@@ -61,6 +85,7 @@ public class CurrentMeasurements {
 
     public void setRain(boolean rain) {
         this.rain = rain;
+        record(Mess.REGEN, rain ? 1 : 0);
     }
 
     public float getWindSpeed() {
@@ -69,5 +94,39 @@ public class CurrentMeasurements {
 
     public void setWindSpeed(float windSpeed) {
         this.windSpeed = windSpeed;
+        record(Mess.WIND, windSpeed);
+    }
+
+    /**
+     * Aggregates the history of a measurement.
+     *
+     * @param mess the measurement
+     * @param windowMillis length of the window ending now
+     * @return min, max, avg and last value within the window, <code>null</code> if there is no history for the
+     * measurement
+     */
+    public MeasurementSummary getSummary(Mess mess, long windowMillis) {
+        final MeasurementHistory history = histories.get(mess);
+        return history == null ? null : history.summarize(System.currentTimeMillis() - windowMillis);
+    }
+
+    private void record(Mess mess, float value) {
+        final long now = System.currentTimeMillis();
+        final MeasurementHistory history = histories.get(mess);
+        if (history != null) {
+            history.add(now, value);
+        }
+        try {
+            timeSeriesStore.append(mess, now, value);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        for (Mess mess : new Mess[] { Mess.FEELED_TEMP, Mess.TEMP, Mess.HELLIGKEIT1, Mess.WIND, Mess.REGEN }) {
+            histories.put(mess, new MeasurementHistory(historyCapacity));
+        }
     }
 }
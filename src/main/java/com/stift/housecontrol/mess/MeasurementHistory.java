@@ -0,0 +1,141 @@
+package com.stift.housecontrol.mess;
+
+/**
+ * Fixed-capacity history of a measurement, the oldest sample is overwritten once the capacity is reached.
+ * <p>
+ * Samples are held in primitive arrays. Min, max and sum are kept in a segment tree over the ring slots and updated
+ * on every append, so aggregating any time window costs O(log capacity) instead of a scan over the samples.
+ */
+public class MeasurementHistory {
+
+    private final int capacity;
+    private final long[] timestamps;
+    private final float[] values;
+
+    // segment tree, leaves at [capacity, 2 * capacity)
+    private final float[] min;
+    private final float[] max;
+    private final double[] sum;
+
+    // next slot to write, number of valid samples
+    private int head;
+    private int size;
+
+    /**
+     * @param capacity max. number of samples kept, rounded up to a power of two
+     */
+    public MeasurementHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity " + capacity + " < 1");
+        }
+        this.capacity = Integer.bitCount(capacity) == 1 ? capacity : Integer.highestOneBit(capacity) << 1;
+        timestamps = new long[this.capacity];
+        values = new float[this.capacity];
+        min = new float[2 * this.capacity];
+        max = new float[2 * this.capacity];
+        sum = new double[2 * this.capacity];
+    }
+
+    public synchronized void add(long timestamp, float value) {
+        // keep timestamps ordered, even if the clock is set back
+        if (size > 0) {
+            timestamp = Math.max(timestamp, timestamps[slot(size - 1)]);
+        }
+        final int slot = head;
+        timestamps[slot] = timestamp;
+        values[slot] = value;
+        head = (head + 1) & (capacity - 1);
+        if (size < capacity) {
+            size++;
+        }
+
+        int node = slot + capacity;
+        min[node] = value;
+        max[node] = value;
+        sum[node] = value;
+        for (node >>>= 1; node > 0; node >>>= 1) {
+            final int l = node << 1;
+            final int r = l | 1;
+            min[node] = Math.min(min[l], min[r]);
+            max[node] = Math.max(max[l], max[r]);
+            sum[node] = sum[l] + sum[r];
+        }
+    }
+
+    /**
+     * Aggregates all samples with a timestamp &gt;= <code>from</code>.
+     *
+     * @param from start of the window, in milliseconds since the epoch
+     * @return the aggregates, with a count of 0 if there are no samples in the window
+     */
+    public synchronized MeasurementSummary summarize(long from) {
+        final int first = firstAtOrAfter(from);
+        final int count = size - first;
+        if (count == 0) {
+            return new MeasurementSummary(from, 0, Float.NaN, Float.NaN, Double.NaN, Float.NaN, 0);
+        }
+        final int start = slot(first);
+        final int end = slot(size - 1);
+        final float[] acc = { Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY };
+        double total;
+        if (start <= end) {
+            total = query(start, end, acc);
+        } else {
+            // window wraps around the end of the ring
+            total = query(start, capacity - 1, acc) + query(0, end, acc);
+        }
+        return new MeasurementSummary(from, count, acc[0], acc[1], total / count, values[end], timestamps[end]);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    // ring slot of the i-th oldest sample
+    private int slot(int i) {
+        return (head - size + i) & (capacity - 1);
+    }
+
+    // index of the oldest sample not before the timestamp, size if none
+    private int firstAtOrAfter(long timestamp) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (timestamps[slot(mid)] < timestamp) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // min/max of the slots [from, to] merged into acc, returns their sum
+    private double query(int from, int to, float[] acc) {
+        double total = 0;
+        int l = from + capacity;
+        int r = to + capacity + 1;
+        while (l < r) {
+            if ((l & 1) == 1) {
+                total += merge(l++, acc);
+            }
+            if ((r & 1) == 1) {
+                total += merge(--r, acc);
+            }
+            l >>>= 1;
+            r >>>= 1;
+        }
+        return total;
+    }
+
+    private double merge(int node, float[] acc) {
+        acc[0] = Math.min(acc[0], min[node]);
+        acc[1] = Math.max(acc[1], max[node]);
+        return sum[node];
+    }
+}
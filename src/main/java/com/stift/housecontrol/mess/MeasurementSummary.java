@@ -0,0 +1,59 @@
+package com.stift.housecontrol.mess;
+
+/**
+ * Aggregates of a measurement over a time window. The values are <code>null</code> if the window contains no samples.
+ */
+public class MeasurementSummary {
+
+    private final long from;
+    private final int count;
+    private final float min;
+    private final float max;
+    private final double avg;
+    private final float last;
+    private final long lastTimestamp;
+
+    public MeasurementSummary(long from, int count, float min, float max, double avg, float last, long lastTimestamp) {
+        this.from = from;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.avg = avg;
+        this.last = last;
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    /**
+     * @return start of the window, in milliseconds since the epoch
+     */
+    public long getFrom() {
+        return from;
+    }
+
+    /**
+     * @return number of samples in the window
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public Float getMin() {
+        return count == 0 ? null : min;
+    }
+
+    public Float getMax() {
+        return count == 0 ? null : max;
+    }
+
+    public Double getAvg() {
+        return count == 0 ? null : avg;
+    }
+
+    public Float getLast() {
+        return count == 0 ? null : last;
+    }
+
+    public Long getLastTimestamp() {
+        return count == 0 ? null : lastTimestamp;
+    }
+}
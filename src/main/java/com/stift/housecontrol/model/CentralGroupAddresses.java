@@ -0,0 +1,97 @@
+package com.stift.housecontrol.model;
+
+import tuwien.auto.calimero.GroupAddress;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Central group addresses of the installation and the group addresses of the lights and jalousies they switch.
+ * <p>
+ * After a write to a central group address, the actuators do not send the new state on the group addresses of the
+ * members, so cached values of the members are outdated. Members can be central group addresses themselves, f.i.
+ * the kitchen spots are part of all lights on the ground floor; {@link #members(int)} includes their members.
+ */
+public final class CentralGroupAddresses {
+
+    private static final int[] NONE = new int[0];
+
+    // direct members by raw central group address
+    private static final Map<Integer, List<Integer>> direct = new HashMap<>();
+    // all members by raw central group address
+    private static final int[][] members = new int[0x10000][];
+
+    static {
+        light(Light.EG_KUECHE_ALLE_SPOTS, Light.EG_KUECHE_SPOTS_FRONT, Light.EG_KUECHE_SPOTS_INSEL,
+                Light.EG_KUECHE_SPOTS_WAND);
+        light(Light.EG_ALL, Light.EG_BAD_HAUPT, Light.EG_BAD_DUSCHE, Light.EG_BAD_SPIEGEL, Light.EG_BUERO_HAUPT,
+                Light.EG_WC, Light.EG_GARDEROBE, Light.EG_EINGANG_HAUSTUER, Light.EG_EINGANG_VORRAUM,
+                Light.EG_KUECHE_ESSTISCH, Light.EG_KUECHE_ALLE_SPOTS, Light.EG_SPEIS, Light.EG_WOHNZIMMER_HAUPT,
+                Light.EG_MUSIKZIMMER_HAUPT, Light.EG_LICHT_TECHNIKRAUM);
+        light(Light.OG_ALL, Light.OG_GANG, Light.OG_SCHLAFZIMMER_HAUPT, Light.OG_KINDERZIMMER1,
+                Light.OG_KINDERZIMMER2, Light.OG_KINDERZIMMER3, Light.OG_ABSTELLRAUM, Light.OG_WC,
+                Light.OG_BAD_HAUPT, Light.OG_BAD_DUSCHE, Light.OG_BAD_SPIEGELSCHRANK, Light.OG_SCHRANKRAUM);
+        light(Light.EG_OG_ALL, Light.EG_ALL, Light.OG_ALL, Light.STIEGE);
+
+        jalousie(Jalousie.KUECHE_ALLE, Jalousie.KUECHE_134);
+        jalousie(Jalousie.WOHZIMMER_ALLE, Jalousie.WOHNZIMMER_GROSS, Jalousie.WOHZIMMER_TUER);
+        jalousie(Jalousie.EG_ALL, Jalousie.KUECHE_ALLE, Jalousie.MUSIKZIMMER, Jalousie.BUERO,
+                Jalousie.WOHZIMMER_ALLE);
+        jalousie(Jalousie.OG_ALL, Jalousie.SCHLAFZIMMER_KLEIN, Jalousie.SCHLAFZIMMER_GROSS, Jalousie.KINDERTIMMER1,
+                Jalousie.KINDERZIMMER2, Jalousie.KINDERZIMMER3);
+        jalousie(Jalousie.EG_OG_ALL, Jalousie.EG_ALL, Jalousie.OG_ALL, Jalousie.FASSADE_SUED, Jalousie.FASSADE_OST);
+
+        for (int central : direct.keySet()) {
+            final Set<Integer> all = new LinkedHashSet<>();
+            collect(central, all);
+            members[central] = all.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private CentralGroupAddresses() {}
+
+    /**
+     * @param rawAddress raw group address
+     * @return raw group addresses switched by a write to the group address, empty if it is no central group address
+     */
+    public static int[] members(int rawAddress) {
+        final int[] all = members[rawAddress & 0xffff];
+        return all != null ? all : NONE;
+    }
+
+    public static int[] members(GroupAddress ga) {
+        return members(ga.getRawAddress());
+    }
+
+    private static void light(Light central, Light... lights) {
+        final List<Integer> list = new ArrayList<>();
+        for (Light light : lights) {
+            list.add(light.getGroupAddress().getRawAddress());
+        }
+        direct.put(central.getGroupAddress().getRawAddress(), list);
+    }
+
+    private static void jalousie(Jalousie central, Jalousie... jalousies) {
+        final List<Integer> list = new ArrayList<>();
+        for (Jalousie jalousie : jalousies) {
+            list.add(jalousie.getGroupAddress().getRawAddress());
+        }
+        direct.put(central.getGroupAddress().getRawAddress(), list);
+    }
+
+    private static void collect(int central, Set<Integer> all) {
+        final List<Integer> list = direct.get(central);
+        if (list == null) {
+            return;
+        }
+        for (int member : list) {
+            if (all.add(member)) {
+                collect(member, all);
+            }
+        }
+    }
+}
@@ -43,7 +43,7 @@ public enum Jalousie {
     }
 
     public GroupAddress getGroupAddress() {
-        return new GroupAddress(this.g1, this.g2, this.g3);
+        return GroupAddress.of(this.g1, this.g2, this.g3);
     }
 
 
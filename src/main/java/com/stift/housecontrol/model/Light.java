@@ -61,7 +61,7 @@ public enum Light {
     }
 
     public GroupAddress getGroupAddress() {
-        return new GroupAddress(this.g1, this.g2, this.g3);
+        return GroupAddress.of(this.g1, this.g2, this.g3);
     }
 
 
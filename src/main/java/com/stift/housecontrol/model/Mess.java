@@ -4,28 +4,37 @@ import tuwien.auto.calimero.GroupAddress;
 
 public enum Mess {
 
-    FEELED_TEMP(0, 0, 1),
-    TEMP(0, 0, 2),
-    HELLIGKEIT1(0,0,7),
-    DATE(0,0,19),
+    FEELED_TEMP(0, 0, 1, "9.001"),
+    TEMP(0, 0, 2, "9.001"),
+    HELLIGKEIT1(0,0,7, "9.004"),
+    DATE(0,0,19, "11.001"),
     // in m/s
-    WIND(0,0, 15),
+    WIND(0,0, 15, "9.005"),
 
     // boolean indicator
-    REGEN(0,0,20);
+    REGEN(0,0,20, "1.002");
 
     private final int g1;
     private final int g2;
     private final int g3;
+    private final String dptId;
 
-    Mess(int g1, int g2, int g3) {
+    Mess(int g1, int g2, int g3, String dptId) {
         this.g1 = g1;
         this.g2 = g2;
         this.g3 = g3;
+        this.dptId = dptId;
     }
 
     public GroupAddress getGroupAddress() {
-        return new GroupAddress(this.g1, this.g2, this.g3);
+        return GroupAddress.of(this.g1, this.g2, this.g3);
+    }
+
+    /**
+     * @return ID of the datapoint type sent to the group address
+     */
+    public String getDptId() {
+        return dptId;
     }
 
 
@@ -0,0 +1,170 @@
+package com.stift.housecontrol.push;
+
+import com.stift.housecontrol.event.GroupAddressEvent;
+import com.stift.housecontrol.listener.GroupAddressListener;
+import com.stift.housecontrol.model.Light;
+import com.stift.housecontrol.model.Mess;
+import com.stift.housecontrol.service.GroupAddressListenerService;
+import com.stift.housecontrol.state.DptValues;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tuwien.auto.calimero.DataUnitBuilder;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes decoded group address events to subscribed clients as server-sent events. Changes are collected per client
+ * for one flush interval and sent as a single batch.
+ */
+@Service
+public class EventStreamService implements GroupAddressListener, InitializingBean, DisposableBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private GroupAddressListenerService listenerService;
+
+    @Value("${knx.push.flush-interval-ms:50}")
+    private long flushInterval = 50;
+    @Value("${knx.push.buffer-size:256}")
+    private int bufferSize = 256;
+    @Value("${knx.push.timeout-ms:1800000}")
+    private long timeout = 1800000;
+
+    private final List<EventSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    // datapoint types of the known group addresses, by raw address
+    private final Map<Integer, String> dpts = new HashMap<>();
+
+    private final AtomicInteger threads = new AtomicInteger();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, r -> {
+        final Thread t = new Thread(r, "event push " + threads.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Subscribes a client to the changes of all group addresses in the range <code>from</code> to <code>to</code>.
+     *
+     * @param from lowest group address, inclusive
+     * @param to highest group address, inclusive
+     * @return emitter of the server-sent events
+     */
+    public SseEmitter subscribe(GroupAddress from, GroupAddress to) {
+        final SseEmitter emitter = new SseEmitter(timeout);
+        final EventSubscriber subscriber = new EventSubscriber(emitter, from.getRawAddress(), to.getRawAddress(),
+                bufferSize);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+        LOGGER.info("Client subscribed to events {} - {}, {} subscribers", from, to, subscribers.size());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void unsubscribe(EventSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            LOGGER.info("Client unsubscribed from events, {} changes dropped", subscriber.getDropped());
+        }
+    }
+
+    @Override
+    public void readRequest(GroupAddressEvent event) {
+
+    }
+
+    @Override
+    public void readResponse(GroupAddressEvent event) {
+        publish(event);
+    }
+
+    @Override
+    public void write(GroupAddressEvent event) {
+        publish(event);
+    }
+
+    private void publish(GroupAddressEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        final int raw = event.getDestination().getRawAddress();
+        StateChange change = null;
+        for (EventSubscriber subscriber : subscribers) {
+            if (!subscriber.accepts(raw)) {
+                continue;
+            }
+            if (change == null) {
+                change = toStateChange(event);
+            }
+            if (subscriber.offer(raw, change)) {
+                scheduler.schedule(() -> flush(subscriber), flushInterval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void flush(EventSubscriber subscriber) {
+        final List<StateChange> changes = subscriber.drain();
+        if (changes.isEmpty()) {
+            return;
+        }
+        try {
+            subscriber.getEmitter().send(SseEmitter.event().name("state").data(changes));
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.debug("Sending events failed: {}", e.getMessage());
+            unsubscribe(subscriber);
+            subscriber.getEmitter().completeWithError(e);
+        }
+    }
+
+    private StateChange toStateChange(GroupAddressEvent event) {
+        final byte[] data = event.getData();
+        final String dpt = dpts.get(event.getDestination().getRawAddress());
+        Object value = null;
+        if (dpt != null) {
+            try {
+                value = DptValues.decode(dpt, data);
+            } catch (KNXException | RuntimeException e) {
+                LOGGER.debug("Cannot decode {} as DPT {}", event.getDestination(), dpt);
+            }
+        }
+        return new StateChange(event.getDestination().toString(), event.getSource(), event.getType().name(),
+                DataUnitBuilder.toHex(data, ""), value, System.currentTimeMillis());
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        for (Light light : Light.values()) {
+            dpts.put(light.getGroupAddress().getRawAddress(), DPTXlatorBoolean.DPT_SWITCH.getID());
+        }
+        for (Mess mess : Mess.values()) {
+            dpts.put(mess.getGroupAddress().getRawAddress(), mess.getDptId());
+        }
+        listenerService.addListener(this);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        listenerService.removeListener(this);
+        scheduler.shutdownNow();
+        subscribers.forEach(s -> s.getEmitter().complete());
+    }
+}
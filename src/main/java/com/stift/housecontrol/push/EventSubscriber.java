@@ -0,0 +1,64 @@
+package com.stift.housecontrol.push;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A client subscribed to the event stream, with a bounded buffer of not yet sent changes. Only the latest change per
+ * group address is kept, if the buffer is full the oldest change is dropped.
+ */
+class EventSubscriber {
+
+    private final SseEmitter emitter;
+    private final int from;
+    private final int to;
+    private final int capacity;
+
+    private final Map<Integer, StateChange> pending = new LinkedHashMap<>();
+    private long dropped;
+
+    EventSubscriber(SseEmitter emitter, int from, int to, int capacity) {
+        this.emitter = emitter;
+        this.from = from;
+        this.to = to;
+        this.capacity = capacity;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean accepts(int rawAddress) {
+        return rawAddress >= from && rawAddress <= to;
+    }
+
+    /**
+     * @return <code>true</code> if the buffer was empty before, i.e., a flush has to be scheduled
+     */
+    synchronized boolean offer(int rawAddress, StateChange change) {
+        final boolean wasEmpty = pending.isEmpty();
+        if (pending.remove(rawAddress) == null && pending.size() >= capacity) {
+            final Iterator<StateChange> oldest = pending.values().iterator();
+            oldest.next();
+            oldest.remove();
+            dropped++;
+        }
+        pending.put(rawAddress, change);
+        return wasEmpty;
+    }
+
+    synchronized List<StateChange> drain() {
+        final List<StateChange> changes = new ArrayList<>(pending.values());
+        pending.clear();
+        return changes;
+    }
+
+    synchronized long getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,59 @@
+package com.stift.housecontrol.push;
+
+/**
+ * A decoded group address event as pushed to clients.
+ */
+public class StateChange {
+
+    private final String address;
+    private final String source;
+    private final String type;
+    private final String data;
+    private final Object value;
+    private final long timestamp;
+
+    public StateChange(String address, String source, String type, String data, Object value, long timestamp) {
+        this.address = address;
+        this.source = source;
+        this.type = type;
+        this.data = data;
+        this.value = value;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return group address, format "x/y/z"
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * @return individual address of the sender, format "x.y.z"
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return ASDU as hex string
+     */
+    public String getData() {
+        return data;
+    }
+
+    /**
+     * @return decoded value, <code>null</code> if the datapoint type of the group address is not known
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,28 @@
+package com.stift.housecontrol.rest;
+
+import org.springframework.stereotype.Component;
+import tuwien.auto.calimero.link.KNXNetworkLinkGovernor;
+import tuwien.auto.calimero.link.KNXNetworkLinkGovernor.TrafficClass;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+
+/**
+ * Sends the telegrams of REST requests as interactive traffic, ahead of automation and background traffic.
+ */
+@Component
+public class InteractiveTrafficFilter implements Filter {
+
+    @Override
+    @SuppressWarnings("try")
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        try (KNXNetworkLinkGovernor.Scope scope = KNXNetworkLinkGovernor.scope(TrafficClass.Interactive)) {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.stift.housecontrol.rest.datapoint;
+
+import com.stift.housecontrol.connection.KnxConnectionService;
+import com.stift.housecontrol.datapoint.DatapointEntry;
+import com.stift.housecontrol.datapoint.DatapointIndex;
+import com.stift.housecontrol.datapoint.DatapointValue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import tuwien.auto.calimero.KNXException;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.Context;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes any datapoint of the {@link DatapointIndex} by name, f.i. <code>GET /api/dp/mess.TEMP</code> or
+ * <code>PUT /api/dp/jalousie.KUECHE_134</code> with body <code>50</code>. Unknown names are answered with 404.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/dp")
+public class DatapointController {
+
+    @Autowired
+    private DatapointIndex datapointIndex;
+    @Autowired
+    private KnxConnectionService knxConnectionService;
+
+    @RequestMapping(method = RequestMethod.GET)
+    public List<DatapointValue> getDatapoints(@Context HttpServletResponse response) {
+        return datapointIndex.getEntries().stream()
+                .map(e -> new DatapointValue(e.getName(), e.getGroupAddress().toString(), e.getCodec().getDptId(),
+                        null, e.getCodec().getUnit(), false))
+                .collect(Collectors.toList());
+    }
+
+    @RequestMapping(path = "{name:.+}", method = RequestMethod.GET)
+    public DatapointValue read(@PathVariable("name") String name, @Context HttpServletResponse response)
+            throws KNXException, InterruptedException {
+        final DatapointEntry entry = datapointIndex.get(name);
+        if (entry == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return null;
+        }
+        return knxConnectionService.read(entry);
+    }
+
+    @RequestMapping(path = "{name:.+}", method = RequestMethod.PUT)
+    public void write(@PathVariable("name") String name, @RequestBody String value,
+                      @Context HttpServletResponse response) throws KNXException {
+        final DatapointEntry entry = datapointIndex.get(name);
+        if (entry == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        knxConnectionService.write(entry, value.trim());
+    }
+}
@@ -0,0 +1,35 @@
+package com.stift.housecontrol.rest.events;
+
+import com.stift.housecontrol.push.EventStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.Context;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    @Autowired
+    private EventStreamService eventStreamService;
+
+    /**
+     * Streams state changes of all group addresses in the range <code>from</code> to <code>to</code>.
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    public SseEmitter subscribe(@RequestParam(value = "from", defaultValue = "0/0/0") String from,
+                                @RequestParam(value = "to", defaultValue = "31/7/255") String to,
+                                @Context HttpServletResponse response) throws KNXFormatException {
+        return eventStreamService.subscribe(GroupAddress.from(from), GroupAddress.from(to));
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.stift.housecontrol.rest.jobs;
+
+import com.stift.housecontrol.scheduling.JobInfo;
+import com.stift.housecontrol.scheduling.JobScheduler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.Context;
+import java.util.List;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    @Autowired
+    private JobScheduler jobScheduler;
+
+    @RequestMapping(method = RequestMethod.GET)
+    public List<JobInfo> getUpcoming(@Context HttpServletResponse response) {
+        return jobScheduler.getUpcoming();
+    }
+
+    @RequestMapping(path = "{key:.+}", method = RequestMethod.DELETE)
+    public boolean cancel(@PathVariable("key") String key, @Context HttpServletResponse response) {
+        return jobScheduler.cancel(key);
+    }
+}
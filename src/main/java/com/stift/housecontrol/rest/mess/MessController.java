@@ -2,11 +2,14 @@ package com.stift.housecontrol.rest.mess;
 
 import com.stift.housecontrol.connection.KnxConnectionService;
 import com.stift.housecontrol.mess.CurrentMeasurements;
+import com.stift.housecontrol.mess.MeasurementSummary;
 import com.stift.housecontrol.model.Mess;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import tuwien.auto.calimero.KNXException;
 import tuwien.auto.calimero.datapoint.Datapoint;
@@ -56,6 +59,16 @@ public class MessController {
         return currentMeasurements.getWindSpeed();
     }
 
+    /**
+     * Min, max, avg and last value of a measurement, f.i. <code>/api/mess/history/TEMP?minutes=60</code>.
+     */
+    @RequestMapping(path = "history/{mess}", method = RequestMethod.GET)
+    public MeasurementSummary getHistory(@PathVariable("mess") String mess,
+                                         @RequestParam(value = "minutes", defaultValue = "60") long minutes,
+                                         @Context HttpServletResponse response) {
+        return currentMeasurements.getSummary(Mess.valueOf(mess.toUpperCase()), minutes * 60_000);
+    }
+
 
 
 }
@@ -0,0 +1,25 @@
+package com.stift.housecontrol.rest.metrics;
+
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import tuwien.auto.calimero.metrics.KnxMetrics;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.Context;
+
+/**
+ * Telegram counters and latencies of the KNX path in the Prometheus text format, empty counters while
+ * <code>knx.metrics.enabled</code> is off.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    @RequestMapping(method = RequestMethod.GET, produces = "text/plain; version=0.0.4")
+    public String getMetrics(@Context HttpServletResponse response) {
+        return KnxMetrics.writePrometheus();
+    }
+}
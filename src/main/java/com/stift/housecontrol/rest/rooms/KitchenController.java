@@ -44,16 +44,8 @@ public class KitchenController {
 
     @RequestMapping(path = "light/spots/all", method = RequestMethod.PUT)
     public boolean switchAllSpotsLight(@Context HttpServletResponse response) throws KNXException, InterruptedException {
-        boolean state = knxConnectionService.getLightState(Light.EG_KUECHE_SPOTS_INSEL.getGroupAddress());
-
-        if(state) {
-            knxConnectionService.lightOff(Light.EG_KUECHE_ALLE_SPOTS.getGroupAddress());
-            return false;
-        }
-        else {
-            knxConnectionService.lightOn(Light.EG_KUECHE_ALLE_SPOTS.getGroupAddress());
-            return true;
-        }
+        return knxConnectionService.toggle(Light.EG_KUECHE_SPOTS_INSEL.getGroupAddress(),
+                Light.EG_KUECHE_ALLE_SPOTS.getGroupAddress()).getState();
     }
 
     @RequestMapping(path = "light/spots/front", method = RequestMethod.GET)
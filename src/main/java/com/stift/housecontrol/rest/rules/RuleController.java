@@ -0,0 +1,27 @@
+package com.stift.housecontrol.rest.rules;
+
+import com.stift.housecontrol.rule.RuleEngine;
+import com.stift.housecontrol.rule.RuleStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.Context;
+import java.util.List;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/rules")
+public class RuleController {
+
+    @Autowired
+    private RuleEngine ruleEngine;
+
+    @RequestMapping(method = RequestMethod.GET)
+    public List<RuleStatus> getRules(@Context HttpServletResponse response) {
+        return ruleEngine.getStatus();
+    }
+}
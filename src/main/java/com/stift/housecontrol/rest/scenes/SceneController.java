@@ -1,9 +1,8 @@
 package com.stift.housecontrol.rest.scenes;
 
-import com.stift.housecontrol.action.JalousieAction;
-import com.stift.housecontrol.connection.KnxConnectionService;
-import com.stift.housecontrol.model.Jalousie;
-import com.stift.housecontrol.model.Light;
+import com.stift.housecontrol.scene.SceneEngine;
+import com.stift.housecontrol.scene.SceneResult;
+import com.stift.housecontrol.scene.Scenes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,34 +23,27 @@ public class SceneController {
     private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 
     @Autowired
-    private KnxConnectionService knxConnectionService;
+    private SceneEngine sceneEngine;
 
     private boolean cinema = false;
 
 
     @RequestMapping(path = "goodnight", method = RequestMethod.PUT)
-    public void goodNight(@Context HttpServletResponse response) throws KNXException, InterruptedException {
+    public SceneResult goodNight(@Context HttpServletResponse response) {
         LOGGER.info("Scene Good Night Received");
-        knxConnectionService.lightOff(Light.EG_OG_ALL.getGroupAddress());
-        knxConnectionService.executeJalousie(JalousieAction.UP, Jalousie.EG_OG_ALL.getGroupAddress());
+        return sceneEngine.execute(Scenes.GOOD_NIGHT).join();
     }
 
     @RequestMapping(path = "goodmorning", method = RequestMethod.PUT)
-    public void goodMorning(@Context HttpServletResponse response) throws KNXException, InterruptedException {
-        LOGGER.info("Scene Good Morning Received -> nothing defined yet");
-        knxConnectionService.executeJalousie(JalousieAction.UP, Jalousie.SCHLAFZIMMER_GROSS.getGroupAddress());
-        knxConnectionService.executeJalousie(JalousieAction.UP, Jalousie.SCHLAFZIMMER_KLEIN.getGroupAddress());
-        // TODO - only execute if helligkeits value is < treshold
-        //knxConnectionService.lightOn(Light.OG_GANG.getGroupAddress());
-        //knxConnectionService.lightOn(Light.OG_SCHRANKRAUM.getGroupAddress());
-        //knxConnectionService.lightOn(Light.OG_BAD_SPIEGELSCHRANK.getGroupAddress());
-        //knxConnectionService.lightOn(Light.OG_WC.getGroupAddress());
+    public SceneResult goodMorning(@Context HttpServletResponse response) {
+        LOGGER.info("Scene Good Morning Received");
+        return sceneEngine.execute(Scenes.GOOD_MORNING).join();
     }
 
     @RequestMapping(path = "leave", method = RequestMethod.PUT)
-    public void leave(@Context HttpServletResponse response) throws KNXException, InterruptedException {
-        LOGGER.info("Scene Good Morning Received");
-        knxConnectionService.lightOff(Light.EG_OG_ALL.getGroupAddress());
+    public SceneResult leave(@Context HttpServletResponse response) {
+        LOGGER.info("Scene Leave Received");
+        return sceneEngine.execute(Scenes.LEAVE).join();
     }
 
     @RequestMapping(path = "home", method = RequestMethod.PUT)
@@ -60,19 +52,16 @@ public class SceneController {
     }
 
     @RequestMapping(path = "cinema", method = RequestMethod.PUT)
-    public void cinema(@Context HttpServletResponse response) throws KNXException, InterruptedException {
+    public SceneResult cinema(@Context HttpServletResponse response) {
         LOGGER.info("Scene Cinema Received");
 
         if(cinema) {
-            knxConnectionService.executeJalousie(JalousieAction.DOWN, Jalousie.WOHZIMMER_TUER.getGroupAddress());
-            knxConnectionService.executeJalousie(JalousieAction.DOWN, Jalousie.WOHNZIMMER_GROSS.getGroupAddress());
-            knxConnectionService.lightOff(Light.EG_WOHNZIMMER_HAUPT.getGroupAddress());
             cinema = false;
+            return sceneEngine.execute(Scenes.CINEMA_OFF).join();
         }
         else {
-            knxConnectionService.executeJalousie(JalousieAction.UP, Jalousie.WOHZIMMER_TUER.getGroupAddress());
-            knxConnectionService.executeJalousie(JalousieAction.UP, Jalousie.WOHNZIMMER_GROSS.getGroupAddress());
             cinema = true;
+            return sceneEngine.execute(Scenes.CINEMA_ON).join();
         }
 
     }
@@ -0,0 +1,27 @@
+package com.stift.housecontrol.rest.state;
+
+import com.stift.housecontrol.state.StateSnapshot;
+import com.stift.housecontrol.state.StateSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.Context;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/state")
+public class StateController {
+
+    @Autowired
+    private StateSnapshotService stateSnapshotService;
+
+    @RequestMapping(method = RequestMethod.GET)
+    public StateSnapshot getState(@Context HttpServletResponse response) throws InterruptedException {
+        return stateSnapshotService.snapshot();
+    }
+
+}
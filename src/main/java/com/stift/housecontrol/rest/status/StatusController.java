@@ -0,0 +1,77 @@
+package com.stift.housecontrol.rest.status;
+
+import com.stift.housecontrol.connection.BusLoadStats;
+import com.stift.housecontrol.connection.ConnectionStatus;
+import com.stift.housecontrol.connection.KnxConnectionService;
+import com.stift.housecontrol.connection.ReadStats;
+import com.stift.housecontrol.connection.WriteStats;
+import com.stift.housecontrol.health.HealthStatus;
+import com.stift.housecontrol.health.LinkHealthMonitor;
+import com.stift.housecontrol.health.LinkState;
+import com.stift.housecontrol.service.GroupAddressListenerService;
+import com.stift.housecontrol.service.ListenerStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.Context;
+import java.util.List;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/status")
+public class StatusController {
+
+    @Autowired
+    private KnxConnectionService knxConnectionService;
+    @Autowired
+    private GroupAddressListenerService groupAddressListenerService;
+    @Autowired
+    private LinkHealthMonitor linkHealthMonitor;
+
+    /**
+     * Link health, answered with status 503 while the link is down.
+     */
+    @RequestMapping(path = "health", method = RequestMethod.GET)
+    public HealthStatus getHealth(@Context HttpServletResponse response) {
+        final HealthStatus status = linkHealthMonitor.getStatus();
+        if (status.getState() == LinkState.DOWN) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+        return status;
+    }
+
+    @RequestMapping(path = "connection", method = RequestMethod.GET)
+    public ConnectionStatus getConnection(@Context HttpServletResponse response) {
+        return knxConnectionService.getConnectionStatus();
+    }
+
+    @RequestMapping(path = "reads", method = RequestMethod.GET)
+    public ReadStats getReadStats(@Context HttpServletResponse response) {
+        return knxConnectionService.getReadStats();
+    }
+
+    @RequestMapping(path = "writes", method = RequestMethod.GET)
+    public WriteStats getWriteStats(@Context HttpServletResponse response) {
+        return knxConnectionService.getWriteStats();
+    }
+
+    @RequestMapping(path = "busload", method = RequestMethod.GET)
+    public BusLoadStats getBusLoadStats(@Context HttpServletResponse response) {
+        return knxConnectionService.getBusLoadStats();
+    }
+
+    @RequestMapping(path = "link/listeners", method = RequestMethod.GET)
+    public int getLinkListeners(@Context HttpServletResponse response) {
+        return knxConnectionService.getLinkListenerCount();
+    }
+
+    @RequestMapping(path = "listeners", method = RequestMethod.GET)
+    public List<ListenerStats> getListenerStats(@Context HttpServletResponse response) {
+        return groupAddressListenerService.getListenerStats();
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.stift.housecontrol.rest.timeseries;
+
+import com.stift.housecontrol.model.Mess;
+import com.stift.housecontrol.timeseries.Resolution;
+import com.stift.housecontrol.timeseries.TimeSeriesPoint;
+import com.stift.housecontrol.timeseries.TimeSeriesStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.Context;
+import java.util.List;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/timeseries")
+public class TimeSeriesController {
+
+    private static final long DAY = 86_400_000L;
+
+    @Autowired
+    private TimeSeriesStore store;
+
+    /**
+     * Stored samples of a measurement, f.i. <code>/api/timeseries/TEMP?from=1500000000000&amp;resolution=hour</code>.
+     * From and to are milliseconds since the epoch, the last 24 hours by default. Without resolution the finest one
+     * with not more than maxPoints points is chosen, with a resolution given consecutive points are merged to fit.
+     */
+    @RequestMapping(path = "{mess}", method = RequestMethod.GET)
+    public List<TimeSeriesPoint> getRange(@PathVariable("mess") String mess,
+                                          @RequestParam(value = "from", required = false) Long from,
+                                          @RequestParam(value = "to", required = false) Long to,
+                                          @RequestParam(value = "resolution", required = false) String resolution,
+                                          @RequestParam(value = "maxPoints", defaultValue = "2000") int maxPoints,
+                                          @Context HttpServletResponse response) {
+        final long end = to != null ? to : System.currentTimeMillis();
+        final long start = from != null ? from : end - DAY;
+        final Resolution r = resolution != null ? Resolution.valueOf(resolution.toUpperCase()) : null;
+        return store.query(Mess.valueOf(mess.toUpperCase()), r, start, end, maxPoints);
+    }
+}
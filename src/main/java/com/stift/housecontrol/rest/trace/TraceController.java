@@ -0,0 +1,37 @@
+package com.stift.housecontrol.rest.trace;
+
+import com.stift.housecontrol.trace.BusTraceService;
+import com.stift.housecontrol.trace.TraceStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.Context;
+import java.io.IOException;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/trace")
+public class TraceController {
+
+    @Autowired
+    private BusTraceService busTraceService;
+
+    @RequestMapping(method = RequestMethod.GET)
+    public TraceStatus getStatus(@Context HttpServletResponse response) {
+        return busTraceService.getStatus();
+    }
+
+    @RequestMapping(path = "start", method = RequestMethod.POST)
+    public TraceStatus start(@Context HttpServletResponse response) throws IOException {
+        return busTraceService.start();
+    }
+
+    @RequestMapping(path = "stop", method = RequestMethod.POST)
+    public TraceStatus stop(@Context HttpServletResponse response) {
+        return busTraceService.stop();
+    }
+}
@@ -0,0 +1,18 @@
+package com.stift.housecontrol.rule;
+
+import tuwien.auto.calimero.GroupAddress;
+
+import java.util.List;
+
+/**
+ * A condition of a rule.
+ */
+public interface Condition {
+
+    /**
+     * @return the group addresses the condition depends on, a telegram to one of them triggers the rule
+     */
+    List<GroupAddress> getGroupAddresses();
+
+    boolean test(RuleContext context);
+}
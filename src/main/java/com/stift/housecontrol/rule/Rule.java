@@ -0,0 +1,50 @@
+package com.stift.housecontrol.rule;
+
+import com.stift.housecontrol.scene.Scene;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Executes a scene as soon as all of its conditions hold. The rule fires once when the conditions become true and
+ * again only after they were false in between.
+ */
+public class Rule {
+
+    private final String name;
+    private final List<Condition> conditions;
+    private final Scene action;
+
+    public Rule(String name, Scene action, Condition... conditions) {
+        this.name = name;
+        this.action = action;
+        this.conditions = Collections.unmodifiableList(Arrays.asList(conditions));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    public Scene getAction() {
+        return action;
+    }
+
+    public boolean test(RuleContext context) {
+        for (Condition condition : conditions) {
+            if (!condition.test(context)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "Rule{" + "name=" + name + ", conditions=" + conditions + ", action=" + action.getName() + '}';
+    }
+}
@@ -0,0 +1,23 @@
+package com.stift.housecontrol.rule;
+
+import tuwien.auto.calimero.GroupAddress;
+
+import java.time.LocalTime;
+
+/**
+ * Values conditions are evaluated against.
+ */
+public interface RuleContext {
+
+    /**
+     * @param ga the group address
+     * @param dptId datapoint type ID of the group address
+     * @return last known value, Boolean for DPT 1, Double for numeric types; <code>null</code> if unknown
+     */
+    Object value(GroupAddress ga, String dptId);
+
+    /**
+     * @return the local time of the evaluation
+     */
+    LocalTime time();
+}
@@ -0,0 +1,234 @@
+package com.stift.housecontrol.rule;
+
+import com.stift.housecontrol.event.GroupAddressEvent;
+import com.stift.housecontrol.listener.GroupAddressListener;
+import com.stift.housecontrol.scene.SceneEngine;
+import com.stift.housecontrol.service.GroupAddressListenerService;
+import com.stift.housecontrol.state.DptValues;
+import com.stift.housecontrol.state.GroupAddressStateCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates the automation rules whenever a value they depend on changes.
+ * <p>
+ * Rules are indexed by the raw group addresses of their value conditions, so a telegram only evaluates the rules
+ * referencing its destination. Rules with time conditions are additionally evaluated at the start and end of their
+ * time windows. Actions are executed as scenes by the {@link SceneEngine}.
+ * <p>
+ * The engine starts without rules; the rules of {@link Rules} move the blinds of the house and are only registered
+ * with <code>knx.rules.enabled=true</code>.
+ */
+@Service
+public class RuleEngine implements GroupAddressListener, RuleContext, InitializingBean, DisposableBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+    private static final RuleState[] NONE = new RuleState[0];
+
+    @Autowired
+    private GroupAddressListenerService listenerService;
+    @Autowired
+    private GroupAddressStateCache stateCache;
+    @Autowired
+    private SceneEngine sceneEngine;
+
+    @Value("${knx.rules.enabled:false}")
+    private boolean rulesEnabled = false;
+
+    // rules by raw group address of their value conditions
+    private final AtomicReferenceArray<RuleState[]> index = new AtomicReferenceArray<>(0x10000);
+    private final List<RuleState> rules = new CopyOnWriteArrayList<>();
+    private final List<RuleState> timedRules = new CopyOnWriteArrayList<>();
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private ScheduledExecutorService timer;
+    private ScheduledFuture<?> nextBoundary;
+
+    private static final class RuleState {
+        final Rule rule;
+        boolean active;
+        volatile long fired;
+        volatile long lastFired;
+
+        RuleState(Rule rule) {
+            this.rule = rule;
+        }
+    }
+
+    /**
+     * Registers a rule, it is evaluated immediately and whenever one of its values changes.
+     *
+     * @param rule the rule
+     */
+    public void register(Rule rule) {
+        final RuleState state = new RuleState(rule);
+        rules.add(state);
+        final Set<GroupAddress> addresses = new LinkedHashSet<>();
+        boolean timed = false;
+        for (Condition condition : rule.getConditions()) {
+            addresses.addAll(condition.getGroupAddresses());
+            timed |= condition instanceof TimeCondition;
+        }
+        for (GroupAddress ga : addresses) {
+            index.updateAndGet(ga.getRawAddress(), current -> {
+                final RuleState[] states = current == null ? NONE : current;
+                final RuleState[] updated = Arrays.copyOf(states, states.length + 1);
+                updated[states.length] = state;
+                return updated;
+            });
+            listenerService.addListener(ga, this);
+        }
+        if (timed) {
+            timedRules.add(state);
+            scheduleNextBoundary();
+        }
+        evaluate(state);
+    }
+
+    public List<RuleStatus> getStatus() {
+        return rules.stream().map(s -> new RuleStatus(s.rule.getName(), s.rule.getConditions().toString(),
+                s.active, s.fired, s.lastFired)).collect(Collectors.toList());
+    }
+
+    @Override
+    public void readRequest(GroupAddressEvent event) {
+
+    }
+
+    @Override
+    public void readResponse(GroupAddressEvent event) {
+        evaluate(event.getDestination());
+    }
+
+    @Override
+    public void write(GroupAddressEvent event) {
+        evaluate(event.getDestination());
+    }
+
+    private void evaluate(GroupAddress ga) {
+        final RuleState[] states = index.get(ga.getRawAddress());
+        if (states == null) {
+            return;
+        }
+        for (RuleState state : states) {
+            evaluate(state);
+        }
+    }
+
+    private void evaluate(RuleState state) {
+        final boolean fire;
+        synchronized (state) {
+            final boolean holds = state.rule.test(this);
+            fire = holds && !state.active;
+            state.active = holds;
+            if (fire) {
+                state.fired++;
+                state.lastFired = System.currentTimeMillis();
+            }
+        }
+        if (fire) {
+            LOGGER.info("Rule {} fired", state.rule.getName());
+            sceneEngine.execute(state.rule.getAction()).whenComplete((result, t) -> {
+                if (t != null) {
+                    LOGGER.error("Rule " + state.rule.getName() + " failed", t);
+                }
+                else if (!result.isSuccess()) {
+                    LOGGER.warn("Rule {} incomplete: {}", state.rule.getName(), result);
+                }
+            });
+        }
+    }
+
+    @Override
+    public Object value(GroupAddress ga, String dptId) {
+        final GroupAddressStateCache.State state = stateCache.get(ga);
+        if (state == null) {
+            return null;
+        }
+        try {
+            return DptValues.decode(dptId, state.getData());
+        } catch (KNXException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public LocalTime time() {
+        return LocalTime.now(zone);
+    }
+
+    // evaluates the timed rules at the next start or end of one of their time windows
+    private synchronized void scheduleNextBoundary() {
+        if (timer == null || timedRules.isEmpty()) {
+            return;
+        }
+        if (nextBoundary != null) {
+            nextBoundary.cancel(false);
+        }
+        final ZonedDateTime now = ZonedDateTime.now(zone);
+        final List<LocalTime> boundaries = new ArrayList<>();
+        for (RuleState state : timedRules) {
+            for (Condition condition : state.rule.getConditions()) {
+                if (condition instanceof TimeCondition) {
+                    boundaries.add(((TimeCondition) condition).getFrom());
+                    boundaries.add(((TimeCondition) condition).getTo());
+                }
+            }
+        }
+        long delay = Long.MAX_VALUE;
+        for (LocalTime boundary : boundaries) {
+            ZonedDateTime next = now.with(boundary);
+            if (!next.isAfter(now)) {
+                next = now.toLocalDate().plusDays(1).atTime(boundary).atZone(zone);
+            }
+            delay = Math.min(delay, Duration.between(now, next).toMillis());
+        }
+        nextBoundary = timer.schedule(() -> {
+            timedRules.forEach(this::evaluate);
+            scheduleNextBoundary();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "rule timer");
+            t.setDaemon(true);
+            return t;
+        });
+        if (rulesEnabled) {
+            Rules.ALL.forEach(this::register);
+            LOGGER.info("Registered {} automation rules", Rules.ALL.size());
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,50 @@
+package com.stift.housecontrol.rule;
+
+/**
+ * State of a registered rule.
+ */
+public class RuleStatus {
+
+    private final String name;
+    private final String conditions;
+    private final boolean active;
+    private final long fired;
+    private final long lastFired;
+
+    public RuleStatus(String name, String conditions, boolean active, long fired, long lastFired) {
+        this.name = name;
+        this.conditions = conditions;
+        this.active = active;
+        this.fired = fired;
+        this.lastFired = lastFired;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getConditions() {
+        return conditions;
+    }
+
+    /**
+     * @return whether all conditions held at the last evaluation
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * @return number of executions since startup
+     */
+    public long getFired() {
+        return fired;
+    }
+
+    /**
+     * @return time of the last execution in milliseconds since the epoch, 0 if never
+     */
+    public long getLastFired() {
+        return lastFired;
+    }
+}
@@ -0,0 +1,54 @@
+package com.stift.housecontrol.rule;
+
+import com.stift.housecontrol.action.JalousieAction;
+import com.stift.housecontrol.model.Jalousie;
+import com.stift.housecontrol.model.Mess;
+import com.stift.housecontrol.scene.Scene;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.stift.housecontrol.scene.Scenes.jalousie;
+
+/**
+ * Automation rules of the house, registered by the {@link RuleEngine} only with <code>knx.rules.enabled=true</code>.
+ * The thresholds are starting points and have to be checked against the sensors of the installation before enabling.
+ */
+public final class Rules {
+
+    // wind speed in m/s
+    public static final Rule STORM = new Rule("storm",
+            new Scene("storm", jalousie(JalousieAction.UP, Jalousie.EG_OG_ALL)),
+            above(Mess.WIND, 10));
+
+    public static final Rule RAIN_AND_WIND = new Rule("rain and wind",
+            new Scene("rain and wind", jalousie(JalousieAction.UP, Jalousie.FASSADE_SUED),
+                    jalousie(JalousieAction.UP, Jalousie.FASSADE_OST)),
+            isTrue(Mess.REGEN), above(Mess.WIND, 5));
+
+    // brightness in lux
+    public static final Rule DUSK = new Rule("dusk",
+            new Scene("dusk", jalousie(JalousieAction.DOWN, Jalousie.EG_OG_ALL)),
+            below(Mess.HELLIGKEIT1, 20), between(LocalTime.of(16, 0), LocalTime.of(23, 0)));
+
+    public static final List<Rule> ALL = Arrays.asList(STORM, RAIN_AND_WIND, DUSK);
+
+    private Rules() {}
+
+    public static Condition above(Mess mess, double threshold) {
+        return new ValueCondition(mess.getGroupAddress(), mess.getDptId(), ValueCondition.Operator.ABOVE, threshold);
+    }
+
+    public static Condition below(Mess mess, double threshold) {
+        return new ValueCondition(mess.getGroupAddress(), mess.getDptId(), ValueCondition.Operator.BELOW, threshold);
+    }
+
+    public static Condition isTrue(Mess mess) {
+        return new ValueCondition(mess.getGroupAddress(), mess.getDptId(), ValueCondition.Operator.EQUALS, true);
+    }
+
+    public static Condition between(LocalTime from, LocalTime to) {
+        return new TimeCondition(from, to);
+    }
+}
@@ -0,0 +1,52 @@
+package com.stift.housecontrol.rule;
+
+import tuwien.auto.calimero.GroupAddress;
+
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds within a daily time window, the window may span midnight.
+ */
+public class TimeCondition implements Condition {
+
+    private final LocalTime from;
+    private final LocalTime to;
+
+    /**
+     * @param from start of the window (inclusive)
+     * @param to end of the window (exclusive)
+     */
+    public TimeCondition(LocalTime from, LocalTime to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalTime getFrom() {
+        return from;
+    }
+
+    public LocalTime getTo() {
+        return to;
+    }
+
+    @Override
+    public List<GroupAddress> getGroupAddresses() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean test(RuleContext context) {
+        final LocalTime time = context.time();
+        if (from.isBefore(to)) {
+            return !time.isBefore(from) && time.isBefore(to);
+        }
+        return !time.isBefore(from) || time.isBefore(to);
+    }
+
+    @Override
+    public String toString() {
+        return "time " + from + "-" + to;
+    }
+}
@@ -0,0 +1,65 @@
+package com.stift.housecontrol.rule;
+
+import tuwien.auto.calimero.GroupAddress;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares the last known value of a group address.
+ */
+public class ValueCondition implements Condition {
+
+    public enum Operator {
+        ABOVE, BELOW, EQUALS
+    }
+
+    private final GroupAddress groupAddress;
+    private final String dptId;
+    private final Operator operator;
+    private final Object operand;
+
+    /**
+     * @param groupAddress the group address
+     * @param dptId datapoint type ID of the group address
+     * @param operator comparison
+     * @param operand Boolean for DPT 1, Number otherwise
+     */
+    public ValueCondition(GroupAddress groupAddress, String dptId, Operator operator, Object operand) {
+        this.groupAddress = groupAddress;
+        this.dptId = dptId;
+        this.operator = operator;
+        this.operand = operand;
+    }
+
+    @Override
+    public List<GroupAddress> getGroupAddresses() {
+        return Collections.singletonList(groupAddress);
+    }
+
+    @Override
+    public boolean test(RuleContext context) {
+        final Object value = context.value(groupAddress, dptId);
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Number && operand instanceof Number) {
+            final double v = ((Number) value).doubleValue();
+            final double o = ((Number) operand).doubleValue();
+            switch (operator) {
+                case ABOVE:
+                    return v > o;
+                case BELOW:
+                    return v < o;
+                default:
+                    return v == o;
+            }
+        }
+        return operator == Operator.EQUALS && value.equals(operand);
+    }
+
+    @Override
+    public String toString() {
+        return groupAddress + " " + operator.name().toLowerCase() + " " + operand;
+    }
+}
@@ -0,0 +1,36 @@
+package com.stift.housecontrol.scene;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A named batch of scene steps, executed by the {@link SceneEngine}.
+ */
+public class Scene {
+
+    private final String name;
+    private final List<SceneStep> steps;
+
+    public Scene(String name, SceneStep... steps) {
+        this(name, Arrays.asList(steps));
+    }
+
+    public Scene(String name, List<SceneStep> steps) {
+        this.name = name;
+        this.steps = Collections.unmodifiableList(steps);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<SceneStep> getSteps() {
+        return steps;
+    }
+
+    @Override
+    public String toString() {
+        return "Scene{" + "name=" + name + ", steps=" + steps + '}';
+    }
+}
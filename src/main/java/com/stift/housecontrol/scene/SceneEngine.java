@@ -0,0 +1,237 @@
+package com.stift.housecontrol.scene;
+
+import com.stift.housecontrol.connection.KnxConnectionService;
+import com.stift.housecontrol.state.GroupAddressStateCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tuwien.auto.calimero.CloseEvent;
+import tuwien.auto.calimero.FrameEvent;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.Priority;
+import tuwien.auto.calimero.cemi.CEMILData;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+import tuwien.auto.calimero.link.KNXLinkClosedException;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+import tuwien.auto.calimero.link.NetworkLinkListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Executes scenes by sending all steps back-to-back over the KNX link, without waiting for the L_Data.con of one
+ * step before sending the next. The number of steps waiting for their confirmation is bounded.
+ */
+@Service
+public class SceneEngine implements NetworkLinkListener, InitializingBean, DisposableBean {
+
+    private static final int GROUP_WRITE = 0x80;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private KnxConnectionService knxConnectionService;
+    @Autowired
+    private GroupAddressStateCache stateCache;
+
+    @Value("${knx.scene.max-in-flight:4}")
+    private int maxInFlight = 4;
+    @Value("${knx.scene.confirmation-timeout-ms:3000}")
+    private long confirmationTimeout = 3000;
+
+    private Semaphore inFlight;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        final Thread t = new Thread(r, "scene engine");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // pending confirmations by raw group address, in order of sending
+    private final Map<Integer, Deque<CompletableFuture<Boolean>>> pending = new HashMap<>();
+    private KNXNetworkLink attachedLink;
+
+    /**
+     * Executes a scene. All steps without delay are sent before this method returns, delayed steps are sent by the
+     * engine once their delay elapsed.
+     *
+     * @param scene the scene to execute
+     * @return completes with the results of all steps once every step is confirmed or failed
+     */
+    public CompletableFuture<SceneResult> execute(Scene scene) {
+        LOGGER.info("Execute scene {}", scene.getName());
+        final long start = System.nanoTime();
+        final List<CompletableFuture<SceneStepResult>> results = new ArrayList<>();
+        for (SceneStep step : scene.getSteps()) {
+            if (step.getDelay().isZero() || step.getDelay().isNegative()) {
+                results.add(send(step));
+            } else {
+                final CompletableFuture<SceneStepResult> result = new CompletableFuture<>();
+                scheduler.schedule(() -> send(step).thenAccept(result::complete), step.getDelay().toMillis(),
+                        TimeUnit.MILLISECONDS);
+                results.add(result);
+            }
+        }
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            final List<SceneStepResult> steps = results.stream().map(CompletableFuture::join).collect(Collectors.toList());
+            final SceneResult result = new SceneResult(scene.getName(), steps,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            LOGGER.info("Scene {} finished in {} ms, success {}", scene.getName(), result.getDurationMillis(),
+                    result.isSuccess());
+            return result;
+        });
+    }
+
+    private CompletableFuture<SceneStepResult> send(SceneStep step) {
+        final GroupAddress dst = step.getGroupAddress();
+        final long start = System.nanoTime();
+        final byte[] asdu;
+        final boolean optimized;
+        final byte[] apdu;
+        try {
+            final DPTXlator t = TranslatorTypes.createTranslator(0, step.getDptId());
+            t.setValue(step.getValue());
+            asdu = t.getData();
+            optimized = t.getTypeSize() == 0;
+            apdu = createGroupWrite(t);
+        } catch (KNXException e) {
+            return CompletableFuture.completedFuture(failed(step, e.getMessage(), start));
+        }
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(failed(step, "interrupted", start));
+        }
+        final CompletableFuture<Boolean> con = new CompletableFuture<>();
+        final int raw = dst.getRawAddress();
+        synchronized (pending) {
+            pending.computeIfAbsent(raw, k -> new ArrayDeque<>()).add(con);
+        }
+        con.orTimeout(confirmationTimeout, TimeUnit.MILLISECONDS).whenComplete((v, t) -> {
+            inFlight.release();
+            synchronized (pending) {
+                final Deque<CompletableFuture<Boolean>> queue = pending.get(raw);
+                if (queue != null && queue.remove(con) && queue.isEmpty()) {
+                    pending.remove(raw);
+                }
+            }
+        });
+
+        try {
+            link().sendRequest(dst, Priority.LOW, apdu);
+        } catch (KNXException | RuntimeException e) {
+            con.completeExceptionally(e);
+        }
+
+        return con.handle((positive, error) -> {
+            if (error instanceof TimeoutException) {
+                return failed(step, "no confirmation within " + confirmationTimeout + " ms", start);
+            }
+            if (error != null) {
+                return failed(step, error.getMessage(), start);
+            }
+            if (!positive) {
+                return failed(step, "negative confirmation", start);
+            }
+            stateCache.write(dst, asdu, optimized);
+            return new SceneStepResult(dst.toString(), step.getValue(), true, null, elapsed(start));
+        });
+    }
+
+    private synchronized KNXNetworkLink link() throws KNXLinkClosedException {
+        final KNXNetworkLink link = knxConnectionService.getLink();
+        if (link != attachedLink) {
+            if (attachedLink != null) {
+                attachedLink.removeLinkListener(this);
+            }
+            link.addLinkListener(this);
+            attachedLink = link;
+        }
+        return link;
+    }
+
+    @Override
+    public void indication(FrameEvent e) {
+        // not of interest
+    }
+
+    @Override
+    public void confirmation(FrameEvent e) {
+        if (!(e.getFrame() instanceof CEMILData)) {
+            return;
+        }
+        final CEMILData f = (CEMILData) e.getFrame();
+        if (!(f.getDestination() instanceof GroupAddress)) {
+            return;
+        }
+        final int raw = f.getDestination().getRawAddress();
+        final CompletableFuture<Boolean> con;
+        synchronized (pending) {
+            final Deque<CompletableFuture<Boolean>> queue = pending.get(raw);
+            if (queue == null) {
+                return;
+            }
+            con = queue.poll();
+            if (queue.isEmpty()) {
+                pending.remove(raw);
+            }
+        }
+        if (con != null) {
+            con.complete(f.isPositiveConfirmation());
+        }
+    }
+
+    @Override
+    public void linkClosed(CloseEvent e) {
+        final List<CompletableFuture<Boolean>> open = new ArrayList<>();
+        synchronized (pending) {
+            pending.values().forEach(open::addAll);
+            pending.clear();
+        }
+        open.forEach(con -> con.completeExceptionally(new KNXLinkClosedException("link closed: " + e.getReason())));
+    }
+
+    private static SceneStepResult failed(SceneStep step, String error, long start) {
+        return new SceneStepResult(step.getGroupAddress().toString(), step.getValue(), false, error, elapsed(start));
+    }
+
+    private static long elapsed(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    // same layout as used by the process communicator, compact format for DPTs of <= 6 bits
+    private static byte[] createGroupWrite(DPTXlator t) {
+        final int offset = t.getItems() == 1 && t.getTypeSize() == 0 ? 1 : 2;
+        final byte[] buf = new byte[t.getItems() * Math.max(1, t.getTypeSize()) + offset];
+        buf[1] = (byte) GROUP_WRITE;
+        return t.getData(buf, offset);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        inFlight = new Semaphore(Math.max(1, maxInFlight));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,40 @@
+package com.stift.housecontrol.scene;
+
+import java.util.List;
+
+/**
+ * Outcome of a scene execution, with one result per step in the order of the scene steps.
+ */
+public class SceneResult {
+
+    private final String scene;
+    private final List<SceneStepResult> steps;
+    private final long durationMillis;
+
+    public SceneResult(String scene, List<SceneStepResult> steps, long durationMillis) {
+        this.scene = scene;
+        this.steps = steps;
+        this.durationMillis = durationMillis;
+    }
+
+    public String getScene() {
+        return scene;
+    }
+
+    public List<SceneStepResult> getSteps() {
+        return steps;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public boolean isSuccess() {
+        return steps.stream().allMatch(SceneStepResult::isSuccess);
+    }
+
+    @Override
+    public String toString() {
+        return "SceneResult{" + "scene=" + scene + ", steps=" + steps + ", durationMillis=" + durationMillis + '}';
+    }
+}
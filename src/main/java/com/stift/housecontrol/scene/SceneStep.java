@@ -0,0 +1,54 @@
+package com.stift.housecontrol.scene;
+
+import tuwien.auto.calimero.GroupAddress;
+
+import java.time.Duration;
+
+/**
+ * A single step of a scene: a value of a datapoint type written to a group address.
+ */
+public class SceneStep {
+
+    private final GroupAddress groupAddress;
+    private final String dptId;
+    private final String value;
+    private final Duration delay;
+
+    public SceneStep(GroupAddress groupAddress, String dptId, String value) {
+        this(groupAddress, dptId, value, Duration.ZERO);
+    }
+
+    /**
+     * @param groupAddress target group address
+     * @param dptId datapoint type ID, f.i. "1.001"
+     * @param value value in the format of the datapoint type, f.i. "on"
+     * @param delay delay of this step, relative to the start of the scene
+     */
+    public SceneStep(GroupAddress groupAddress, String dptId, String value, Duration delay) {
+        this.groupAddress = groupAddress;
+        this.dptId = dptId;
+        this.value = value;
+        this.delay = delay;
+    }
+
+    public GroupAddress getGroupAddress() {
+        return groupAddress;
+    }
+
+    public String getDptId() {
+        return dptId;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Duration getDelay() {
+        return delay;
+    }
+
+    @Override
+    public String toString() {
+        return groupAddress + " " + dptId + " " + value + (delay.isZero() ? "" : " +" + delay.toMillis() + " ms");
+    }
+}
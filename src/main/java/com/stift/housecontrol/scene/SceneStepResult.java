@@ -0,0 +1,55 @@
+package com.stift.housecontrol.scene;
+
+/**
+ * Outcome of a single scene step.
+ */
+public class SceneStepResult {
+
+    private final String groupAddress;
+    private final String value;
+    private final boolean success;
+    private final String error;
+    private final long latencyMillis;
+
+    public SceneStepResult(String groupAddress, String value, boolean success, String error, long latencyMillis) {
+        this.groupAddress = groupAddress;
+        this.value = value;
+        this.success = success;
+        this.error = error;
+        this.latencyMillis = latencyMillis;
+    }
+
+    public String getGroupAddress() {
+        return groupAddress;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * @return <code>true</code> if the step got a positive L_Data.con
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * @return error message, <code>null</code> on success
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return time from sending the step until its confirmation
+     */
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    @Override
+    public String toString() {
+        return groupAddress + " " + value + (success ? " ok" : " failed: " + error) + " (" + latencyMillis + " ms)";
+    }
+}
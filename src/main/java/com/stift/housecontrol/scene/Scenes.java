@@ -0,0 +1,49 @@
+package com.stift.housecontrol.scene;
+
+import com.stift.housecontrol.action.JalousieAction;
+import com.stift.housecontrol.model.Jalousie;
+import com.stift.housecontrol.model.Light;
+import tuwien.auto.calimero.dptxlator.DPTXlator1BitControlled;
+import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
+
+/**
+ * Scene definitions of the house.
+ */
+public final class Scenes {
+
+    public static final Scene GOOD_NIGHT = new Scene("goodnight",
+            lightOff(Light.EG_OG_ALL),
+            jalousie(JalousieAction.UP, Jalousie.EG_OG_ALL));
+
+    // TODO - only switch on lights if helligkeits value is < treshold
+    public static final Scene GOOD_MORNING = new Scene("goodmorning",
+            jalousie(JalousieAction.UP, Jalousie.SCHLAFZIMMER_GROSS),
+            jalousie(JalousieAction.UP, Jalousie.SCHLAFZIMMER_KLEIN));
+
+    public static final Scene LEAVE = new Scene("leave",
+            lightOff(Light.EG_OG_ALL));
+
+    public static final Scene CINEMA_ON = new Scene("cinema on",
+            jalousie(JalousieAction.UP, Jalousie.WOHZIMMER_TUER),
+            jalousie(JalousieAction.UP, Jalousie.WOHNZIMMER_GROSS));
+
+    public static final Scene CINEMA_OFF = new Scene("cinema off",
+            jalousie(JalousieAction.DOWN, Jalousie.WOHZIMMER_TUER),
+            jalousie(JalousieAction.DOWN, Jalousie.WOHNZIMMER_GROSS),
+            lightOff(Light.EG_WOHNZIMMER_HAUPT));
+
+    private Scenes() {}
+
+    public static SceneStep lightOn(Light light) {
+        return new SceneStep(light.getGroupAddress(), DPTXlatorBoolean.DPT_SWITCH.getID(), "on");
+    }
+
+    public static SceneStep lightOff(Light light) {
+        return new SceneStep(light.getGroupAddress(), DPTXlatorBoolean.DPT_SWITCH.getID(), "off");
+    }
+
+    public static SceneStep jalousie(JalousieAction action, Jalousie jalousie) {
+        return new SceneStep(jalousie.getGroupAddress(), DPTXlator1BitControlled.DPT_UPDOWN_CONTROL.getID(),
+                action.getCommand());
+    }
+}
@@ -0,0 +1,125 @@
+package com.stift.housecontrol.scheduling;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * Fires according to a cron expression with the five fields minute, hour, day of month, month and day of week, f.i.
+ * <code>30 7 * * 1-5</code>.
+ * <p>
+ * Fields support <code>*</code>, values, ranges <code>a-b</code>, lists <code>a,b</code> and steps <code>/n</code>.
+ * Day of week is 0..7, with 0 and 7 both being Sunday. As in cron, if both day of month and day of week are
+ * restricted, a day matching either of them fires.
+ */
+public class CronTrigger implements Trigger {
+
+    // search limit for expressions which never fire, f.i. 30 2 31 2 *
+    private static final int MAX_DAYS = 5 * 366;
+
+    private final String expression;
+    private final BitSet minutes;
+    private final BitSet hours;
+    private final BitSet daysOfMonth;
+    private final BitSet months;
+    private final BitSet daysOfWeek;
+    private final boolean anyDayOfMonth;
+    private final boolean anyDayOfWeek;
+
+    /**
+     * @param expression cron expression
+     * @throws IllegalArgumentException on a malformed expression
+     */
+    public CronTrigger(String expression) {
+        final String[] fields = expression.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("cron expression '" + expression + "' requires 5 fields");
+        }
+        this.expression = expression;
+        minutes = parse(fields[0], 0, 59);
+        hours = parse(fields[1], 0, 23);
+        daysOfMonth = parse(fields[2], 1, 31);
+        months = parse(fields[3], 1, 12);
+        daysOfWeek = parse(fields[4], 0, 7);
+        if (daysOfWeek.get(7)) {
+            daysOfWeek.set(0);
+        }
+        anyDayOfMonth = fields[2].equals("*");
+        anyDayOfWeek = fields[4].equals("*");
+    }
+
+    @Override
+    public ZonedDateTime next(ZonedDateTime after) {
+        final LocalDateTime start = after.toLocalDateTime().truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        LocalDate date = start.toLocalDate();
+        for (int day = 0; day < MAX_DAYS; day++, date = date.plusDays(1)) {
+            if (!matches(date)) {
+                continue;
+            }
+            final boolean first = day == 0;
+            for (int h = hours.nextSetBit(first ? start.getHour() : 0); h >= 0; h = hours.nextSetBit(h + 1)) {
+                final boolean firstHour = first && h == start.getHour();
+                for (int m = minutes.nextSetBit(firstHour ? start.getMinute() : 0); m >= 0; m = minutes.nextSetBit(m + 1)) {
+                    final ZonedDateTime candidate = date.atTime(h, m).atZone(after.getZone());
+                    if (candidate.isAfter(after)) {
+                        return candidate;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean matches(LocalDate date) {
+        if (!months.get(date.getMonthValue())) {
+            return false;
+        }
+        final boolean dom = daysOfMonth.get(date.getDayOfMonth());
+        final boolean dow = daysOfWeek.get(date.getDayOfWeek().getValue() % 7);
+        if (anyDayOfMonth || anyDayOfWeek) {
+            return dom && dow;
+        }
+        return dom || dow;
+    }
+
+    private static BitSet parse(String field, int min, int max) {
+        final BitSet set = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            int step = 1;
+            String range = part;
+            final int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = Integer.parseInt(part.substring(slash + 1));
+                range = part.substring(0, slash);
+            }
+            int from;
+            int to;
+            if (range.equals("*")) {
+                from = min;
+                to = max;
+            }
+            else if (range.contains("-")) {
+                from = Integer.parseInt(range.substring(0, range.indexOf('-')));
+                to = Integer.parseInt(range.substring(range.indexOf('-') + 1));
+            }
+            else {
+                from = Integer.parseInt(range);
+                to = slash >= 0 ? max : from;
+            }
+            if (from < min || to > max || from > to || step < 1) {
+                throw new IllegalArgumentException("invalid cron field '" + field + "', allowed " + min + ".." + max);
+            }
+            for (int i = from; i <= to; i += step) {
+                set.set(i);
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public String toString() {
+        return "cron " + expression;
+    }
+}
@@ -0,0 +1,34 @@
+package com.stift.housecontrol.scheduling;
+
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+
+/**
+ * Fires every day at a local time.
+ */
+public class DailyTrigger implements Trigger {
+
+    private final LocalTime time;
+
+    public DailyTrigger(LocalTime time) {
+        this.time = time;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
+    @Override
+    public ZonedDateTime next(ZonedDateTime after) {
+        final ZonedDateTime today = after.toLocalDate().atTime(time).atZone(after.getZone());
+        if (today.isAfter(after)) {
+            return today;
+        }
+        return after.toLocalDate().plusDays(1).atTime(time).atZone(after.getZone());
+    }
+
+    @Override
+    public String toString() {
+        return "daily " + time;
+    }
+}
@@ -4,33 +4,39 @@ import com.stift.housecontrol.connection.KnxConnectionService;
 import com.stift.housecontrol.task.CloseAllJalousiesTask;
 import com.stift.housecontrol.task.CloseKitchen134lJalousiesTask;
 import com.stift.housecontrol.task.CloseOfficelJalousiesTask;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.task.TaskExecutor;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalTime;
 
-@EnableScheduling
+/**
+ * Jalousie jobs of the {@link JobScheduler}.
+ * <p>
+ * Closing all jalousies daily at {@link #getTimeCloseAll()} is armed at startup only with
+ * <code>knx.jalousie.close-all.enabled=true</code>; otherwise it is armed by {@link #setTimeCloseAll(LocalTime)}.
+ */
 @Component
-public class JalousieScheduler {
+public class JalousieScheduler implements InitializingBean {
+
+    private static final String CLOSE_ALL = "jalousie.closeAll";
 
     @Autowired
     private KnxConnectionService knxConnectionService;
     @Autowired
     private TaskExecutor taskExecutor;
+    @Autowired
+    private JobScheduler jobScheduler;
+
+    @Value("${knx.jalousie.close-all.enabled:false}")
+    private boolean closeAllEnabled = false;
 
     private LocalTime timeCloseAll = LocalTime.of(21, 00);
 
-    //@Scheduled(fixedDelay = 1000 * 60)
     public void closeAll(){
-        if(timeCloseAll != null && compareMinute(timeCloseAll, LocalTime.now())) {
-            taskExecutor.execute(new CloseAllJalousiesTask(knxConnectionService));
-        }
-        else{
-            System.out.println("not yet close all");
-        }
+        taskExecutor.execute(new CloseAllJalousiesTask(knxConnectionService));
     }
 
     public void closeKitchen134(){
@@ -42,16 +48,31 @@ public class JalousieScheduler {
     }
 
 
-    private boolean compareMinute(LocalTime t1, LocalTime t2) {
-        return t1.withSecond(0).withNano(0).equals(t2.withSecond(0).withNano(0));
-    }
-
-
     public LocalTime getTimeCloseAll() {
         return timeCloseAll;
     }
 
+    /**
+     * Sets the daily time all jalousies are closed, <code>null</code> disables it.
+     */
     public void setTimeCloseAll(LocalTime timeCloseAll) {
         this.timeCloseAll = timeCloseAll;
+        scheduleCloseAll();
+    }
+
+    private void scheduleCloseAll() {
+        if (timeCloseAll != null) {
+            jobScheduler.schedule(CLOSE_ALL, new DailyTrigger(timeCloseAll), new CloseAllJalousiesTask(knxConnectionService));
+        }
+        else {
+            jobScheduler.cancel(CLOSE_ALL);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (closeAllEnabled) {
+            scheduleCloseAll();
+        }
     }
 }
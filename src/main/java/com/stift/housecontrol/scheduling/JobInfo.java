@@ -0,0 +1,47 @@
+package com.stift.housecontrol.scheduling;
+
+/**
+ * A job registered at the {@link JobScheduler}.
+ */
+public class JobInfo {
+
+    private final String key;
+    private final String trigger;
+    private final String nextFire;
+    private final long runs;
+    private final String lastRun;
+
+    public JobInfo(String key, String trigger, String nextFire, long runs, String lastRun) {
+        this.key = key;
+        this.trigger = trigger;
+        this.nextFire = nextFire;
+        this.runs = runs;
+        this.lastRun = lastRun;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getTrigger() {
+        return trigger;
+    }
+
+    /**
+     * @return next fire time, ISO format with offset
+     */
+    public String getNextFire() {
+        return nextFire;
+    }
+
+    public long getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return time of the last run, ISO format with offset; <code>null</code> if the job did not run yet
+     */
+    public String getLastRun() {
+        return lastRun;
+    }
+}
@@ -0,0 +1,207 @@
+package com.stift.housecontrol.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs jobs at the times of their triggers.
+ * <p>
+ * Jobs are kept in a priority queue ordered by their next fire time. A single thread sleeps until the earliest job is
+ * due and hands it to the task executor, so there is no polling. A job firing late, f.i. after a GC pause, still runs
+ * once; its next fire time is computed from its due time or now, whichever is later.
+ * <p>
+ * Every job has a key, scheduling a job with the key of an existing one replaces it.
+ */
+@Component
+public class JobScheduler implements InitializingBean, DisposableBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+    // upper bound of a single wait, to notice wall clock adjustments (f.i. NTP after boot) with little delay
+    private static final long MAX_WAIT_MILLIS = 5 * 60 * 1000;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Job> queue = new PriorityQueue<>(
+            Comparator.comparing((Job j) -> j.next).thenComparingLong(j -> j.sequence));
+    private final Map<String, Job> jobs = new HashMap<>();
+    private long sequence;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    private static final class Job {
+        final String key;
+        final Trigger trigger;
+        final Runnable task;
+        final long sequence;
+        ZonedDateTime next;
+        volatile long runs;
+        volatile ZonedDateTime lastRun;
+
+        Job(String key, Trigger trigger, Runnable task, long sequence) {
+            this.key = key;
+            this.trigger = trigger;
+            this.task = task;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Schedules a job, replacing a job with the same key.
+     *
+     * @param key unique key of the job
+     * @param trigger computes the fire times
+     * @param task the job
+     * @return the first fire time, <code>null</code> if the trigger does not fire at all and the job was not scheduled
+     */
+    public ZonedDateTime schedule(String key, Trigger trigger, Runnable task) {
+        lock.lock();
+        try {
+            final Job old = jobs.remove(key);
+            if (old != null) {
+                queue.remove(old);
+            }
+            final Job job = new Job(key, trigger, task, sequence++);
+            job.next = trigger.next(ZonedDateTime.now(zone));
+            if (job.next == null) {
+                LOGGER.warn("Job {} ({}) does not fire, not scheduled", key, trigger);
+                return null;
+            }
+            jobs.put(key, job);
+            queue.add(job);
+            changed.signal();
+            LOGGER.info("Job {} ({}) scheduled, next fire {}", key, trigger, job.next);
+            return job.next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels a job, a run already handed to the executor is not interrupted.
+     *
+     * @param key key of the job
+     * @return <code>true</code> if the job was scheduled
+     */
+    public boolean cancel(String key) {
+        lock.lock();
+        try {
+            final Job job = jobs.remove(key);
+            if (job == null) {
+                return false;
+            }
+            queue.remove(job);
+            changed.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return all scheduled jobs, ordered by their next fire time
+     */
+    public List<JobInfo> getUpcoming() {
+        final List<Job> ordered;
+        lock.lock();
+        try {
+            ordered = new ArrayList<>(queue);
+        } finally {
+            lock.unlock();
+        }
+        ordered.sort(queue.comparator());
+        final List<JobInfo> infos = new ArrayList<>(ordered.size());
+        for (Job job : ordered) {
+            final ZonedDateTime lastRun = job.lastRun;
+            infos.add(new JobInfo(job.key, job.trigger.toString(), job.next.toOffsetDateTime().toString(), job.runs,
+                    lastRun == null ? null : lastRun.toOffsetDateTime().toString()));
+        }
+        return infos;
+    }
+
+    private void run() {
+        lock.lock();
+        try {
+            while (running) {
+                final Job head = queue.peek();
+                if (head == null) {
+                    changed.await();
+                    continue;
+                }
+                final ZonedDateTime now = ZonedDateTime.now(zone);
+                final long wait = Duration.between(now, head.next).toMillis();
+                if (wait > 0) {
+                    changed.await(Math.min(wait, MAX_WAIT_MILLIS), TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                queue.poll();
+                final ZonedDateTime next = head.trigger.next(head.next.isAfter(now) ? head.next : now);
+                if (next != null) {
+                    head.next = next;
+                    queue.add(head);
+                }
+                else {
+                    jobs.remove(head.key);
+                }
+                fire(head, now);
+            }
+        } catch (InterruptedException e) {
+            // shutdown
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void fire(Job job, ZonedDateTime now) {
+        job.runs++;
+        job.lastRun = now;
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    job.task.run();
+                } catch (RuntimeException e) {
+                    LOGGER.error("Job " + job.key + " failed", e);
+                }
+            });
+        } catch (RuntimeException e) {
+            LOGGER.error("Job " + job.key + " rejected", e);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        running = true;
+        worker = new Thread(this::run, "job scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        running = false;
+        worker.interrupt();
+    }
+}
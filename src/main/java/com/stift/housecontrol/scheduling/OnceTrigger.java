@@ -0,0 +1,26 @@
+package com.stift.housecontrol.scheduling;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+/**
+ * Fires once at a given instant.
+ */
+public class OnceTrigger implements Trigger {
+
+    private final Instant at;
+
+    public OnceTrigger(Instant at) {
+        this.at = at;
+    }
+
+    @Override
+    public ZonedDateTime next(ZonedDateTime after) {
+        return at.isAfter(after.toInstant()) ? at.atZone(after.getZone()) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "once " + at;
+    }
+}
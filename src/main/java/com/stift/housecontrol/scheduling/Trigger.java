@@ -0,0 +1,18 @@
+package com.stift.housecontrol.scheduling;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Computes the fire times of a job.
+ */
+public interface Trigger {
+
+    /**
+     * Returns the first fire time strictly after the given time. Local times which do not exist due to a daylight
+     * saving time change are shifted forward by the length of the gap, local times occurring twice fire once.
+     *
+     * @param after the reference time, its zone is used for local times
+     * @return the next fire time, <code>null</code> if the trigger does not fire anymore
+     */
+    ZonedDateTime next(ZonedDateTime after);
+}
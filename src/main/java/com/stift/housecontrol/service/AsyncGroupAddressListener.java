@@ -0,0 +1,97 @@
+package com.stift.housecontrol.service;
+
+import com.stift.housecontrol.event.GroupAddressEvent;
+import com.stift.housecontrol.listener.GroupAddressListener;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Runs a group address listener on its own thread with a bounded queue, so a slow listener cannot delay the link
+ * notifier or other listeners. Events are processed in order of arrival; if the queue is full, the oldest event is
+ * dropped.
+ */
+class AsyncGroupAddressListener implements GroupAddressListener {
+
+    private interface Call {
+        void run() throws Exception;
+    }
+
+    private final GroupAddressListener delegate;
+    private final String name;
+    private final BlockingQueue<Runnable> queue;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+    AsyncGroupAddressListener(GroupAddressListener delegate, int capacity) {
+        this.delegate = delegate;
+        this.name = delegate.getClass().getSimpleName();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, queue, r -> {
+            final Thread t = new Thread(r, "listener " + name);
+            t.setDaemon(true);
+            return t;
+        }, (r, executor) -> {
+            if (executor.isShutdown()) {
+                return;
+            }
+            // drop oldest
+            if (queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+            if (!queue.offer(r)) {
+                dropped.incrementAndGet();
+            }
+        });
+    }
+
+    @Override
+    public void readRequest(GroupAddressEvent event) {
+        submit(() -> delegate.readRequest(event));
+    }
+
+    @Override
+    public void readResponse(GroupAddressEvent event) {
+        submit(() -> delegate.readResponse(event));
+    }
+
+    @Override
+    public void write(GroupAddressEvent event) {
+        submit(() -> delegate.write(event));
+    }
+
+    private void submit(Call call) {
+        final long received = System.nanoTime();
+        executor.execute(() -> {
+            try {
+                call.run();
+            } catch (Exception ex) {
+                ex.printStackTrace();
+            } finally {
+                final long latency = System.nanoTime() - received;
+                processed.incrementAndGet();
+                totalLatency.addAndGet(latency);
+                maxLatency.accumulate(latency);
+            }
+        });
+    }
+
+    ListenerStats getStats() {
+        final long count = processed.get();
+        final long average = count == 0 ? 0 : totalLatency.get() / count;
+        return new ListenerStats(name, queue.size(), count, dropped.get(), TimeUnit.NANOSECONDS.toMicros(average),
+                TimeUnit.NANOSECONDS.toMicros(maxLatency.get()));
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
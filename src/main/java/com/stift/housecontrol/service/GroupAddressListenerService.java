@@ -2,27 +2,132 @@ package com.stift.housecontrol.service;
 
 import com.stift.housecontrol.event.GroupAddressEvent;
 import com.stift.housecontrol.listener.GroupAddressListener;
+import com.stift.housecontrol.state.GroupAddressStateCache;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import tuwien.auto.calimero.DetachEvent;
 import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.process.ProcessEvent;
 import tuwien.auto.calimero.process.ProcessListener;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
 
+/**
+ * Dispatches group address events to the registered listeners.
+ * <p>
+ * Listeners are kept in copy-on-write arrays, indexed directly by the raw group address, so dispatching an event
+ * neither allocates nor locks. Besides single group addresses, listeners can subscribe to all addresses of a main
+ * group, of a middle group, or to all group addresses.
+ * <p>
+ * With <code>knx.listener.async</code> enabled (default), every listener runs on its own thread with a bounded queue,
+ * so application code can never block the link notifier thread.
+ */
 @Service
-public class GroupAddressListenerService implements ProcessListener {
+public class GroupAddressListenerService implements ProcessListener, DisposableBean {
 
-    private final Map<String, List<GroupAddressListener>> listeners = new HashMap<>();
+    private static final GroupAddressListener[] NONE = new GroupAddressListener[0];
 
+    // by raw group address
+    private final AtomicReferenceArray<GroupAddressListener[]> listeners = new AtomicReferenceArray<>(0x10000);
+    // by main group, raw address >> 11
+    private final AtomicReferenceArray<GroupAddressListener[]> mainGroupListeners = new AtomicReferenceArray<>(32);
+    // by main and middle group, raw address >> 8
+    private final AtomicReferenceArray<GroupAddressListener[]> middleGroupListeners = new AtomicReferenceArray<>(256);
+    // listeners for all group addresses
+    private final AtomicReference<GroupAddressListener[]> globalListeners = new AtomicReference<>(NONE);
 
+    @Autowired
+    private GroupAddressStateCache stateCache;
+
+    @Value("${knx.listener.async:true}")
+    private boolean async = true;
+    @Value("${knx.listener.queue-size:1000}")
+    private int queueSize = 1000;
+
+    private final Map<GroupAddressListener, AsyncGroupAddressListener> asyncListeners = new ConcurrentHashMap<>();
+
+
+    /**
+     * Adds a listener for a group address. Any number of listeners can be registered for the same group address.
+     *
+     * @param ga the group address
+     * @param gal the listener
+     */
     public void addListener(GroupAddress ga, GroupAddressListener gal) {
-        List<GroupAddressListener> list = new ArrayList<>();
-        list.add(gal);
-        listeners.put(ga.toString(), list);
+        add(listeners, ga.getRawAddress(), execution(gal));
+    }
+
+    public void removeListener(GroupAddress ga, GroupAddressListener gal) {
+        remove(listeners, ga.getRawAddress(), execution(gal));
+    }
+
+    /**
+     * Adds a listener receiving the events of all group addresses of a main group, f.i. 1/x/x.
+     *
+     * @param mainGroup main group 0..31
+     * @param gal the listener
+     */
+    public void addMainGroupListener(int mainGroup, GroupAddressListener gal) {
+        add(mainGroupListeners, mainGroup, execution(gal));
+    }
+
+    public void removeMainGroupListener(int mainGroup, GroupAddressListener gal) {
+        remove(mainGroupListeners, mainGroup, execution(gal));
+    }
+
+    /**
+     * Adds a listener receiving the events of all group addresses of a middle group, f.i. 1/2/x.
+     *
+     * @param mainGroup main group 0..31
+     * @param middleGroup middle group 0..7
+     * @param gal the listener
+     */
+    public void addMiddleGroupListener(int mainGroup, int middleGroup, GroupAddressListener gal) {
+        add(middleGroupListeners, middleGroupIndex(mainGroup, middleGroup), execution(gal));
+    }
+
+    public void removeMiddleGroupListener(int mainGroup, int middleGroup, GroupAddressListener gal) {
+        remove(middleGroupListeners, middleGroupIndex(mainGroup, middleGroup), execution(gal));
+    }
+
+    /**
+     * Adds a listener receiving the events of all group addresses.
+     *
+     * @param gal the listener
+     */
+    public void addListener(GroupAddressListener gal) {
+        final GroupAddressListener target = execution(gal);
+        globalListeners.updateAndGet(current -> with(current, target));
+    }
+
+    public void removeListener(GroupAddressListener gal) {
+        final GroupAddressListener target = execution(gal);
+        globalListeners.updateAndGet(current -> without(current, target));
+    }
+
+    /**
+     * Returns queue depth, latency and drop counters of all listeners running asynchronously.
+     *
+     * @return statistics per listener
+     */
+    public List<ListenerStats> getListenerStats() {
+        return asyncListeners.values().stream().map(AsyncGroupAddressListener::getStats).collect(Collectors.toList());
+    }
+
+    // the listener as executed by this service, one async wrapper per listener
+    private GroupAddressListener execution(GroupAddressListener gal) {
+        if (!async) {
+            return gal;
+        }
+        return asyncListeners.computeIfAbsent(gal, l -> new AsyncGroupAddressListener(l, queueSize));
     }
 
 
@@ -47,47 +152,114 @@ public class GroupAddressListenerService implements ProcessListener {
     }
 
     private void convertAndForward(ProcessEvent e) {
+        // convert
+        final GroupAddress destination = e.getDestination();
+        GroupAddressEvent.Type type = GroupAddressEvent.Type.UNDEFINED;
+        switch (e.getServiceCode()) {
+            case /* GROUP_READ */ 0x0:
+                type = GroupAddressEvent.Type.GROUP_READ;
+                break;
+            case /* GROUP_RESPONSE */ 0x40:
+                type = GroupAddressEvent.Type.GROUP_RESPONSE;
+                break;
+            case /* GROUP_WRITE */ 0x80:
+                type = GroupAddressEvent.Type.GROUP_WRITE;
+                break;
+        }
 
-        try {
-            // convert
-            GroupAddress destination = e.getDestination();
-            GroupAddressEvent.Type type = GroupAddressEvent.Type.UNDEFINED;
-            switch (e.getServiceCode()) {
-                case /* GROUP_READ */ 0x0:
-                    type = GroupAddressEvent.Type.GROUP_READ;
-                    break;
-                case /* GROUP_RESPONSE */ 0x40:
-                    type = GroupAddressEvent.Type.GROUP_RESPONSE;
-                    break;
-                case /* GROUP_WRITE */ 0x80:
-                    type = GroupAddressEvent.Type.GROUP_WRITE;
-                    break;
-            }
+        final GroupAddressEvent gae = new GroupAddressEvent(e.getSourceAddr().toString(), destination, type, e.getASDU());
 
-            GroupAddressEvent gae = new GroupAddressEvent(e.getSourceAddr().toString(), destination, type, e.getASDU());
-
-            // forward
-            synchronized (listeners) {
-                if(listeners.containsKey(destination.toString())) {
-                    for (GroupAddressListener listener : listeners.get(destination.toString())) {
-                        switch (gae.getType()) {
-                            case GROUP_READ:
-                                listener.readRequest(gae);
-                                break;
-                            case GROUP_RESPONSE:
-                                listener.readResponse(gae);
-                                break;
-                            case GROUP_WRITE:
-                                listener.write(gae);
-                                break;
-                        }
-                    }
+        // keep state cache current
+        if (type == GroupAddressEvent.Type.GROUP_WRITE) {
+            stateCache.write(destination, gae.getData(), e.isLengthOptimizedAPDU());
+        }
+        else if (type == GroupAddressEvent.Type.GROUP_RESPONSE) {
+            stateCache.response(destination, gae.getData(), e.isLengthOptimizedAPDU());
+        }
+
+        // forward
+        final int raw = destination.getRawAddress();
+        dispatch(listeners.get(raw), gae);
+        dispatch(middleGroupListeners.get(raw >>> 8), gae);
+        dispatch(mainGroupListeners.get(raw >>> 11), gae);
+        dispatch(globalListeners.get(), gae);
+    }
+
+    private static void dispatch(GroupAddressListener[] targets, GroupAddressEvent gae) {
+        if (targets == null) {
+            return;
+        }
+        for (GroupAddressListener listener : targets) {
+            try {
+                switch (gae.getType()) {
+                    case GROUP_READ:
+                        listener.readRequest(gae);
+                        break;
+                    case GROUP_RESPONSE:
+                        listener.readResponse(gae);
+                        break;
+                    case GROUP_WRITE:
+                        listener.write(gae);
+                        break;
                 }
+            } catch (Exception ex) {
+                ex.printStackTrace();
             }
-        } catch (Exception ex) {
-            ex.printStackTrace();
         }
     }
 
+    @Override
+    public void destroy() throws Exception {
+        asyncListeners.values().forEach(AsyncGroupAddressListener::shutdown);
+    }
+
+    private static int middleGroupIndex(int mainGroup, int middleGroup) {
+        if (mainGroup < 0 || mainGroup > 31 || middleGroup < 0 || middleGroup > 7) {
+            throw new IllegalArgumentException("group " + mainGroup + "/" + middleGroup + " out of range");
+        }
+        return mainGroup << 3 | middleGroup;
+    }
+
+    private static void add(AtomicReferenceArray<GroupAddressListener[]> table, int index,
+                            GroupAddressListener gal) {
+        table.updateAndGet(index, current -> with(current, gal));
+    }
+
+    private static void remove(AtomicReferenceArray<GroupAddressListener[]> table, int index,
+                               GroupAddressListener gal) {
+        table.updateAndGet(index, current -> {
+            final GroupAddressListener[] updated = without(current, gal);
+            return updated.length == 0 ? null : updated;
+        });
+    }
+
+    private static GroupAddressListener[] with(GroupAddressListener[] current, GroupAddressListener gal) {
+        if (current == null) {
+            return new GroupAddressListener[] { gal };
+        }
+        for (GroupAddressListener l : current) {
+            if (l == gal) {
+                return current;
+            }
+        }
+        final GroupAddressListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = gal;
+        return updated;
+    }
+
+    private static GroupAddressListener[] without(GroupAddressListener[] current, GroupAddressListener gal) {
+        if (current == null) {
+            return NONE;
+        }
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == gal) {
+                final GroupAddressListener[] updated = new GroupAddressListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                return updated;
+            }
+        }
+        return current;
+    }
 
 }
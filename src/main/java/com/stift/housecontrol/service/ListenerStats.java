@@ -0,0 +1,57 @@
+package com.stift.housecontrol.service;
+
+/**
+ * Statistics of a group address listener executed on its own queue.
+ */
+public class ListenerStats {
+
+    private final String listener;
+    private final int queueDepth;
+    private final long processed;
+    private final long dropped;
+    private final long averageLatencyMicros;
+    private final long maxLatencyMicros;
+
+    public ListenerStats(String listener, int queueDepth, long processed, long dropped, long averageLatencyMicros,
+                         long maxLatencyMicros) {
+        this.listener = listener;
+        this.queueDepth = queueDepth;
+        this.processed = processed;
+        this.dropped = dropped;
+        this.averageLatencyMicros = averageLatencyMicros;
+        this.maxLatencyMicros = maxLatencyMicros;
+    }
+
+    public String getListener() {
+        return listener;
+    }
+
+    /**
+     * @return number of events waiting to be processed
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    /**
+     * @return number of events dropped because the queue was full
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * @return average time from receiving an event until the listener finished processing it
+     */
+    public long getAverageLatencyMicros() {
+        return averageLatencyMicros;
+    }
+
+    public long getMaxLatencyMicros() {
+        return maxLatencyMicros;
+    }
+}
@@ -0,0 +1,60 @@
+package com.stift.housecontrol.state;
+
+import com.stift.housecontrol.event.DptCodecs;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
+import tuwien.auto.calimero.dptxlator.DPTXlatorDate;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
+/**
+ * Decodes group address data into values suitable for JSON responses.
+ */
+public final class DptValues {
+
+    private DptValues() {}
+
+    /**
+     * Decodes the ASDU of a group address.
+     *
+     * @param dptId datapoint type ID of the group address
+     * @param asdu the data
+     * @return Boolean for DPT 1, String for dates, Double otherwise
+     * @throws KNXException if the datapoint type is unknown or the data does not match it
+     */
+    public static Object decode(String dptId, byte[] asdu) throws KNXException {
+        // the frequent types without a translator
+        if (dptId.startsWith("1.")) {
+            return DptCodecs.decodeBool(asdu);
+        }
+        if (dptId.startsWith("9.")) {
+            return DptCodecs.decode2ByteFloat(asdu);
+        }
+        final DPTXlator t = TranslatorTypes.createTranslator(0, dptId);
+        t.setData(asdu);
+        if (t instanceof DPTXlatorBoolean) {
+            return ((DPTXlatorBoolean) t).getValueBoolean();
+        }
+        if (t instanceof DPTXlatorDate) {
+            return t.getValue();
+        }
+        return t.getNumericValue();
+    }
+
+    /**
+     * Returns the size of a datapoint type, to match it against cached values.
+     *
+     * @param dptId datapoint type ID
+     * @return size in bytes, 0 for types of at most 6 bits
+     * @throws KNXException if the datapoint type is unknown
+     */
+    public static int typeSize(String dptId) throws KNXException {
+        if (dptId.startsWith("1.")) {
+            return 0;
+        }
+        if (dptId.startsWith("9.")) {
+            return 2;
+        }
+        return TranslatorTypes.createTranslator(0, dptId).getTypeSize();
+    }
+}
@@ -0,0 +1,202 @@
+package com.stift.housecontrol.state;
+
+import com.stift.housecontrol.model.CentralGroupAddresses;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tuwien.auto.calimero.GroupAddress;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last known value of every group address, indexed by the raw 16 bit group address.
+ * The cache is fed from the group address event stream and from our own confirmed writes.
+ * <p>
+ * The same group address may carry values of different datapoint types, f.i. a jalousie address taking 1-bit up/down
+ * commands and 8-bit positions. Every value records its width, and a value not matching the type size asked for is a
+ * cache miss.
+ * <p>
+ * A write to a central group address drops the values of its members, see {@link CentralGroupAddresses}; they are read
+ * from the bus again on their next use.
+ */
+@Component
+public class GroupAddressStateCache {
+
+    private static final int SIZE = 0x10000;
+
+    private final AtomicReferenceArray<State> states = new AtomicReferenceArray<>(SIZE);
+    // callers waiting for the next read response of a group address
+    private final Map<Integer, CompletableFuture<State>> waiters = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Value("${knx.state.max-age-seconds:300}")
+    private long maxAgeSeconds = 300;
+
+    /**
+     * Stores the value of a group address.
+     *
+     * @param ga group address
+     * @param asdu application layer service data unit, as received from or sent to the bus
+     * @param optimized <code>true</code> if the value was sent within the APCI, as done for types of at most 6 bits
+     */
+    public void update(GroupAddress ga, byte[] asdu, boolean optimized) {
+        update(ga.getRawAddress(), asdu, optimized);
+    }
+
+    /**
+     * Stores the value of a group write, and drops the values of the members if the group address is a central one.
+     *
+     * @param ga group address
+     * @param asdu application layer service data unit, as received from or sent to the bus
+     * @param optimized <code>true</code> if the value was sent within the APCI, as done for types of at most 6 bits
+     */
+    public void write(GroupAddress ga, byte[] asdu, boolean optimized) {
+        store(ga.getRawAddress(), asdu, optimized);
+        for (int member : CentralGroupAddresses.members(ga)) {
+            invalidate(member);
+        }
+    }
+
+    public void update(int rawAddress, byte[] asdu, boolean optimized) {
+        store(rawAddress, asdu, optimized);
+    }
+
+    /**
+     * Stores the value of a group read response, and completes the callers waiting for it.
+     *
+     * @param ga group address
+     * @param asdu application layer service data unit, as received from the bus
+     * @param optimized <code>true</code> if the value was sent within the APCI, as done for types of at most 6 bits
+     */
+    public void response(GroupAddress ga, byte[] asdu, boolean optimized) {
+        final State state = store(ga.getRawAddress(), asdu, optimized);
+        if (!waiters.isEmpty()) {
+            final CompletableFuture<State> waiter = waiters.remove(ga.getRawAddress());
+            if (waiter != null) {
+                waiter.complete(state);
+            }
+        }
+    }
+
+    private State store(int rawAddress, byte[] asdu, boolean optimized) {
+        final State state = new State(asdu.clone(), optimized, System.currentTimeMillis());
+        states.set(rawAddress & 0xffff, state);
+        return state;
+    }
+
+    /**
+     * Returns a future completing with the next read response of a group address; group writes, f.i. of a sensor
+     * sending cyclically, do not complete it. All callers waiting for the same group address share one future.
+     *
+     * @param ga group address
+     * @return future completed on the next read response
+     */
+    public CompletableFuture<State> nextResponse(GroupAddress ga) {
+        return waiters.computeIfAbsent(ga.getRawAddress(), k -> new CompletableFuture<>());
+    }
+
+    /**
+     * Drops the value of a group address, f.i. after a write with unknown outcome.
+     *
+     * @param ga group address
+     */
+    public void invalidate(GroupAddress ga) {
+        invalidate(ga.getRawAddress());
+    }
+
+    public void invalidate(int rawAddress) {
+        states.set(rawAddress & 0xffff, null);
+    }
+
+    /**
+     * Returns the last known state of a group address, regardless of its age.
+     *
+     * @param ga group address
+     * @return state or <code>null</code> if nothing was seen yet
+     */
+    public State get(GroupAddress ga) {
+        return states.get(ga.getRawAddress());
+    }
+
+    /**
+     * Returns the state of a group address if it is not older than the configured max-age and holds a value of the
+     * expected type size.
+     *
+     * @param ga group address
+     * @param typeSize size of the expected datapoint type in bytes, 0 for types of at most 6 bits, see
+     *        {@link tuwien.auto.calimero.dptxlator.DPTXlator#getTypeSize()}
+     * @return state or <code>null</code> if missing, stale or of another type size
+     */
+    public State getFresh(GroupAddress ga, int typeSize) {
+        final State state = states.get(ga.getRawAddress());
+        if (state != null && state.getAge() <= maxAgeSeconds * 1000 && state.matches(typeSize)) {
+            hits.incrementAndGet();
+            return state;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    public static final class State {
+
+        private final byte[] data;
+        private final boolean optimized;
+        private final long timestamp;
+
+        State(byte[] data, boolean optimized, long timestamp) {
+            this.data = data;
+            this.optimized = optimized;
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * @return copy of the ASDU
+         */
+        public byte[] getData() {
+            return data.clone();
+        }
+
+        /**
+         * @return <code>true</code> if the value was sent within the APCI, a type of at most 6 bits
+         */
+        public boolean isOptimized() {
+            return optimized;
+        }
+
+        /**
+         * @param typeSize size of a datapoint type in bytes, 0 for types of at most 6 bits
+         * @return <code>true</code> if the value can be of a datapoint type of that size
+         */
+        public boolean matches(int typeSize) {
+            return typeSize == 0 ? optimized : !optimized && data.length == typeSize;
+        }
+
+        /**
+         * @return time of the last update, milliseconds since epoch
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public long getAge() {
+            return System.currentTimeMillis() - timestamp;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.stift.housecontrol.state;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of all lights, jalousies and measurements of the house at one point in time.
+ */
+public class StateSnapshot {
+
+    private final long timestamp;
+    private final Map<String, Object> lights;
+    private final Map<String, Object> jalousies;
+    private final Map<String, Object> mess;
+    private final List<String> unavailable;
+
+    public StateSnapshot(long timestamp, Map<String, Object> lights, Map<String, Object> jalousies,
+            Map<String, Object> mess, List<String> unavailable) {
+        this.timestamp = timestamp;
+        this.lights = lights;
+        this.jalousies = jalousies;
+        this.mess = mess;
+        this.unavailable = unavailable;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<String, Object> getLights() {
+        return lights;
+    }
+
+    public Map<String, Object> getJalousies() {
+        return jalousies;
+    }
+
+    public Map<String, Object> getMess() {
+        return mess;
+    }
+
+    /**
+     * @return names of all entries without a value, because they did not answer before the deadline
+     */
+    public List<String> getUnavailable() {
+        return unavailable;
+    }
+}
@@ -0,0 +1,155 @@
+package com.stift.housecontrol.state;
+
+import com.stift.housecontrol.connection.KnxConnectionService;
+import com.stift.housecontrol.model.Jalousie;
+import com.stift.housecontrol.model.Light;
+import com.stift.housecontrol.model.Mess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.Priority;
+import tuwien.auto.calimero.dptxlator.DPTXlator8BitUnsigned;
+import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds a snapshot of the whole house. Values are taken from the state cache, all others are requested with group
+ * reads sent back-to-back, and collected until a global deadline. A cached value of another type than expected, f.i. an
+ * up/down command on a jalousie position address, is read again; a read response of another type is left out.
+ */
+@Service
+public class StateSnapshotService {
+
+    private static final String LIGHT_DPT = DPTXlatorBoolean.DPT_SWITCH.getID();
+    private static final String JALOUSIE_DPT = DPTXlator8BitUnsigned.DPT_SCALING.getID();
+
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private KnxConnectionService knxConnectionService;
+    @Autowired
+    private GroupAddressStateCache stateCache;
+
+    @Value("${knx.state.snapshot-timeout-ms:2000}")
+    private long snapshotTimeout = 2000;
+
+    private static final class Entry {
+        final String name;
+        final GroupAddress groupAddress;
+        final String dptId;
+        // -1 if the type is unknown, no cached value matches then
+        final int typeSize;
+        final Map<String, Object> target;
+        CompletableFuture<GroupAddressStateCache.State> pending;
+
+        Entry(String name, GroupAddress groupAddress, String dptId, Map<String, Object> target) {
+            this.name = name;
+            this.groupAddress = groupAddress;
+            this.dptId = dptId;
+            this.typeSize = typeSize(dptId);
+            this.target = target;
+        }
+
+        private static int typeSize(String dptId) {
+            try {
+                return DptValues.typeSize(dptId);
+            } catch (KNXException e) {
+                return -1;
+            }
+        }
+    }
+
+    public StateSnapshot snapshot() throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(snapshotTimeout);
+        final Map<String, Object> lights = new LinkedHashMap<>();
+        final Map<String, Object> jalousies = new LinkedHashMap<>();
+        final Map<String, Object> mess = new LinkedHashMap<>();
+        final List<String> unavailable = new ArrayList<>();
+
+        final List<Entry> entries = new ArrayList<>();
+        for (Light light : Light.values()) {
+            entries.add(new Entry(light.name(), light.getGroupAddress(), LIGHT_DPT, lights));
+        }
+        for (Jalousie jalousie : Jalousie.values()) {
+            entries.add(new Entry(jalousie.name(), jalousie.getGroupAddress(), JALOUSIE_DPT, jalousies));
+        }
+        for (Mess m : Mess.values()) {
+            entries.add(new Entry(m.name(), m.getGroupAddress(), m.getDptId(), mess));
+        }
+
+        // serve from memory, collect the rest
+        final List<Entry> missing = new ArrayList<>();
+        for (Entry entry : entries) {
+            final GroupAddressStateCache.State state = stateCache.getFresh(entry.groupAddress, entry.typeSize);
+            if (state != null) {
+                entry.target.put(entry.name, decode(entry, state));
+            } else {
+                entry.pending = stateCache.nextResponse(entry.groupAddress);
+                missing.add(entry);
+            }
+        }
+
+        // issue one group read per missing group address, without waiting for the answers in between
+        if (!missing.isEmpty()) {
+            try {
+                final KNXNetworkLink link = knxConnectionService.getLink();
+                final Set<GroupAddress> requested = new HashSet<>();
+                for (Entry entry : missing) {
+                    if (System.nanoTime() >= deadline) {
+                        break;
+                    }
+                    if (requested.add(entry.groupAddress)) {
+                        link.sendRequest(entry.groupAddress, Priority.LOW, new byte[2]);
+                    }
+                }
+            } catch (KNXException e) {
+                LOGGER.warn("Sending group reads for snapshot failed: {}", e.getMessage());
+            }
+        }
+
+        for (Entry entry : missing) {
+            final long remaining = deadline - System.nanoTime();
+            try {
+                final GroupAddressStateCache.State state = remaining > 0
+                        ? entry.pending.get(remaining, TimeUnit.NANOSECONDS)
+                        : entry.pending.getNow(null);
+                if (state != null && state.matches(entry.typeSize)) {
+                    entry.target.put(entry.name, decode(entry, state));
+                    continue;
+                }
+            } catch (ExecutionException | TimeoutException e) {
+                // no answer before deadline
+            }
+            entry.target.put(entry.name, null);
+            unavailable.add(entry.name);
+        }
+        if (!unavailable.isEmpty()) {
+            LOGGER.info("Snapshot without value for {}", unavailable);
+        }
+        return new StateSnapshot(System.currentTimeMillis(), lights, jalousies, mess, unavailable);
+    }
+
+    private Object decode(Entry entry, GroupAddressStateCache.State state) {
+        try {
+            return DptValues.decode(entry.dptId, state.getData());
+        } catch (KNXException | RuntimeException e) {
+            LOGGER.warn("Cannot decode {} as DPT {}: {}", entry.name, entry.dptId, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.stift.housecontrol.model.Mess;
 import tuwien.auto.calimero.KNXException;
 import tuwien.auto.calimero.KNXTimeoutException;
 import tuwien.auto.calimero.link.KNXLinkClosedException;
+import tuwien.auto.calimero.link.KNXNetworkLinkGovernor;
+import tuwien.auto.calimero.link.KNXNetworkLinkGovernor.TrafficClass;
 
 public class GetFeeledTempTask implements Runnable {
 
@@ -15,8 +17,9 @@ public class GetFeeledTempTask implements Runnable {
     }
 
     @Override
+    @SuppressWarnings("try")
     public void run() {
-        try {
+        try (KNXNetworkLinkGovernor.Scope scope = KNXNetworkLinkGovernor.scope(TrafficClass.Background)) {
             Object o = knxConnectionService.get2ByteMess(Mess.TEMP);
             System.out.println(o);
         } catch (KNXTimeoutException e) {
@@ -0,0 +1,195 @@
+package com.stift.housecontrol.timeseries;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Raw samples and rollups of one measurement.
+ * <p>
+ * Raw record, 12 bytes: timestamp (long), value (float).<br>
+ * Rollup record, 32 bytes: bucket start (long), count (int), min (float), max (float), last (float), sum (double).
+ * <p>
+ * The rollup record of the current bucket is updated in place with every sample, so rollups are always complete and
+ * never have to be rebuilt from raw samples.
+ */
+final class MetricSeries implements Closeable {
+
+    static final int RAW_RECORD = 12;
+    static final int ROLLUP_RECORD = 32;
+
+    private static final int COUNT = 8;
+    private static final int MIN = 12;
+    private static final int MAX = 16;
+    private static final int LAST = 20;
+    private static final int SUM = 24;
+
+    private final ZoneId zone;
+    private final Map<Resolution, SegmentedSeries> series = new EnumMap<>(Resolution.class);
+
+    MetricSeries(Path dir, ZoneId zone, int recordsPerSegment) throws IOException {
+        this.zone = zone;
+        for (Resolution resolution : Resolution.values()) {
+            final int recordSize = resolution == Resolution.RAW ? RAW_RECORD : ROLLUP_RECORD;
+            series.put(resolution, new SegmentedSeries(dir, resolution.name().toLowerCase(), recordSize,
+                    recordsPerSegment));
+        }
+    }
+
+    synchronized void append(long timestamp, float value) throws IOException {
+        final SegmentedSeries raw = series.get(Resolution.RAW);
+        // keep the series ordered, even if the clock is set back
+        timestamp = Math.max(timestamp, raw.lastTimestamp());
+
+        final Segment segment = raw.appendSegment();
+        final int record = segment.next();
+        final int offset = segment.offset(record);
+        final ByteBuffer buffer = segment.buffer();
+        buffer.putFloat(offset + 8, value);
+        buffer.putLong(offset, timestamp);
+        segment.commit();
+
+        for (Resolution resolution : new Resolution[] { Resolution.MINUTE, Resolution.HOUR, Resolution.DAY }) {
+            roll(series.get(resolution), resolution.bucketStart(timestamp, zone), value);
+        }
+    }
+
+    private static void roll(SegmentedSeries rollup, long bucket, float value) throws IOException {
+        final Segment last = rollup.lastSegment();
+        if (last != null && last.timestamp(last.count() - 1) == bucket) {
+            final ByteBuffer buffer = last.buffer();
+            final int offset = last.offset(last.count() - 1);
+            buffer.putInt(offset + COUNT, buffer.getInt(offset + COUNT) + 1);
+            buffer.putFloat(offset + MIN, Math.min(buffer.getFloat(offset + MIN), value));
+            buffer.putFloat(offset + MAX, Math.max(buffer.getFloat(offset + MAX), value));
+            buffer.putFloat(offset + LAST, value);
+            buffer.putDouble(offset + SUM, buffer.getDouble(offset + SUM) + value);
+            return;
+        }
+        final Segment segment = rollup.appendSegment();
+        final int record = segment.next();
+        final int offset = segment.offset(record);
+        final ByteBuffer buffer = segment.buffer();
+        buffer.putInt(offset + COUNT, 1);
+        buffer.putFloat(offset + MIN, value);
+        buffer.putFloat(offset + MAX, value);
+        buffer.putFloat(offset + LAST, value);
+        buffer.putDouble(offset + SUM, value);
+        buffer.putLong(offset, bucket);
+        segment.commit();
+    }
+
+    /**
+     * Reads the points with <code>from &lt;= timestamp &lt; to</code> directly from the mapped segments. If there are
+     * more than <code>maxPoints</code>, runs of consecutive points are merged, so the points still cover the whole
+     * range.
+     */
+    List<TimeSeriesPoint> query(Resolution resolution, long from, long to, int maxPoints) {
+        final SegmentedSeries s = series.get(resolution);
+        final int budget = Math.max(1, maxPoints);
+        final long n = s.count(from, to);
+        final int merge = (int) Math.max(1, (n + budget - 1) / budget);
+        final List<TimeSeriesPoint> points = new ArrayList<>((int) Math.min(n, budget));
+        final boolean raw = resolution == Resolution.RAW;
+        final Downsampler downsampler = new Downsampler(points, merge);
+        s.scan(from, to, (buffer, offset) -> {
+            final long timestamp = buffer.getLong(offset);
+            if (raw) {
+                final float value = buffer.getFloat(offset + 8);
+                downsampler.add(timestamp, 1, value, value, value, value);
+            } else {
+                downsampler.add(timestamp, buffer.getInt(offset + COUNT), buffer.getFloat(offset + MIN),
+                        buffer.getFloat(offset + MAX), buffer.getDouble(offset + SUM), buffer.getFloat(offset + LAST));
+            }
+            // records appended since counting
+            return points.size() < budget;
+        });
+        if (points.size() < budget) {
+            downsampler.flush();
+        }
+        return points;
+    }
+
+    /**
+     * Merges runs of consecutive points into one, at the timestamp of the first.
+     */
+    private static final class Downsampler {
+
+        private final List<TimeSeriesPoint> points;
+        private final int merge;
+        private int merged;
+        private long timestamp;
+        private int count;
+        private float min;
+        private float max;
+        private double sum;
+        private float last;
+
+        Downsampler(List<TimeSeriesPoint> points, int merge) {
+            this.points = points;
+            this.merge = merge;
+        }
+
+        void add(long timestamp, int count, float min, float max, double sum, float last) {
+            if (merged == 0) {
+                this.timestamp = timestamp;
+                this.count = count;
+                this.min = min;
+                this.max = max;
+                this.sum = sum;
+            } else {
+                this.count += count;
+                this.min = Math.min(this.min, min);
+                this.max = Math.max(this.max, max);
+                this.sum += sum;
+            }
+            this.last = last;
+            if (++merged == merge) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (merged > 0) {
+                points.add(new TimeSeriesPoint(timestamp, count, min, max, sum / count, last));
+                merged = 0;
+            }
+        }
+    }
+
+    /**
+     * @return number of points with <code>from &lt;= timestamp &lt; to</code>
+     */
+    long count(Resolution resolution, long from, long to) {
+        return series.get(resolution).count(from, to);
+    }
+
+    /**
+     * Deletes the raw segments holding only samples older than the given time, the rollups are kept.
+     *
+     * @return number of segment files deleted
+     */
+    synchronized int retainRaw(long before) throws IOException {
+        return series.get(Resolution.RAW).retain(before);
+    }
+
+    /**
+     * Writes modified pages of the segments appended to.
+     */
+    void force() {
+        series.values().forEach(SegmentedSeries::force);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (SegmentedSeries s : series.values()) {
+            s.close();
+        }
+    }
+}
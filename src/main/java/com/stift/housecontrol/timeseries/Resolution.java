@@ -0,0 +1,53 @@
+package com.stift.housecontrol.timeseries;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Resolutions kept by the time-series store, the raw samples and the rollups.
+ */
+public enum Resolution {
+
+    RAW(0),
+    MINUTE(60_000L),
+    // hours and days in local time
+    HOUR(3_600_000L),
+    DAY(86_400_000L);
+
+    private final long millis;
+
+    Resolution(long millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * @return nominal length of a bucket in milliseconds, 0 for raw samples
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Returns the start of the bucket containing the timestamp.
+     *
+     * @param timestamp milliseconds since the epoch
+     * @param zone time zone for hour and day boundaries
+     * @return bucket start in milliseconds since the epoch
+     */
+    public long bucketStart(long timestamp, ZoneId zone) {
+        switch (this) {
+            case MINUTE:
+                return timestamp - Math.floorMod(timestamp, millis);
+            case HOUR:
+                return ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), zone).truncatedTo(ChronoUnit.HOURS)
+                        .toInstant().toEpochMilli();
+            case DAY:
+                return ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), zone).toLocalDate().atStartOfDay(zone)
+                        .toInstant().toEpochMilli();
+            default:
+                return timestamp;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.stift.housecontrol.timeseries;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped segment file of fixed-width records, each starting with its timestamp.
+ * <p>
+ * The file is mapped with its full capacity. Unused records are zero, so the number of records is found by a binary
+ * search for the first record with timestamp 0; a record has to be written with its timestamp last.
+ * <p>
+ * Only the segment appended to is kept open, older segments are mapped read-only without holding on to the file.
+ */
+final class Segment implements Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int recordSize;
+    private final int capacity;
+    private volatile int count;
+
+    private Segment(Path file, FileChannel channel, MappedByteBuffer buffer, int recordSize, int capacity) {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.recordSize = recordSize;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Opens the segment for appending, the file is created if it does not exist.
+     */
+    static Segment open(Path file, int recordSize, int capacity) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordSize * capacity);
+        return init(new Segment(file, channel, buffer, recordSize, capacity));
+    }
+
+    /**
+     * Maps the segment read-only. The file is closed right away, the mapping stays valid until the segment is
+     * garbage collected.
+     */
+    static Segment map(Path file, int recordSize, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = Math.min(channel.size(), (long) recordSize * capacity);
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return init(new Segment(file, null, buffer, recordSize, (int) (size / recordSize)));
+        }
+    }
+
+    private static Segment init(Segment segment) {
+        final int capacity = segment.capacity;
+        int lo = 0;
+        int hi = capacity;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (segment.timestamp(mid) != 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        segment.count = lo;
+        return segment;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    int offset(int record) {
+        return record * recordSize;
+    }
+
+    long timestamp(int record) {
+        return buffer.getLong(record * recordSize);
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    /**
+     * @return index of the record to be written next, its timestamp has to be written after all other fields
+     */
+    int next() {
+        return count;
+    }
+
+    /**
+     * Makes the record written at {@link #next()} visible to readers.
+     */
+    void commit() {
+        count++;
+    }
+
+    /**
+     * @return index of the first record with a timestamp &gt;= the given one, count if there is none
+     */
+    int firstAtOrAfter(long timestamp) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (timestamp(mid) < timestamp) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    void force() {
+        if (channel != null) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            force();
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return file + " (" + count + "/" + capacity + ")";
+    }
+}
@@ -0,0 +1,263 @@
+package com.stift.housecontrol.timeseries;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Append-only series of time-ordered records, stored in segment files <code>name-00000000.seg</code>,
+ * <code>name-00000001.seg</code>, ...
+ * <p>
+ * Only the last segment, the tail, is kept open and mapped read-write. Older segments are sealed, the series keeps
+ * their time range and maps them read-only when a scan needs them, the most recently used ones are cached.
+ */
+final class SegmentedSeries implements Closeable {
+
+    interface RecordVisitor {
+
+        /**
+         * @return <code>false</code> to stop the scan
+         */
+        boolean visit(ByteBuffer buffer, int offset);
+    }
+
+    /** Sealed segments mapped at the same time, besides the tail. */
+    private static final int MAPPED_SEGMENTS = 4;
+
+    /**
+     * A sealed segment, its file is not open.
+     */
+    private static final class Sealed {
+
+        final Path file;
+        final long first;
+        final long last;
+        final int count;
+
+        Sealed(Segment segment) {
+            file = segment.file();
+            count = segment.count();
+            first = segment.timestamp(0);
+            last = segment.timestamp(count - 1);
+        }
+    }
+
+    private final Path dir;
+    private final String name;
+    private final int recordSize;
+    private final int recordsPerSegment;
+    private final List<Sealed> sealed = new CopyOnWriteArrayList<>();
+    private final Map<Path, Segment> mapped = new LinkedHashMap<Path, Segment>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Segment> eldest) {
+            return size() > MAPPED_SEGMENTS;
+        }
+    };
+    private volatile Segment tail;
+    private int nextIndex;
+
+    SegmentedSeries(Path dir, String name, int recordSize, int recordsPerSegment) throws IOException {
+        this.dir = dir;
+        this.name = name;
+        this.recordSize = recordSize;
+        this.recordsPerSegment = recordsPerSegment;
+
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, name + "-*.seg")) {
+            stream.forEach(files::add);
+        }
+        Collections.sort(files);
+        for (int i = 0; i < files.size(); i++) {
+            final Path file = files.get(i);
+            nextIndex = index(file) + 1;
+            if (i == files.size() - 1) {
+                tail = Segment.open(file, recordSize, recordsPerSegment);
+            } else {
+                final Segment segment = Segment.map(file, recordSize, recordsPerSegment);
+                if (segment.count() > 0) {
+                    sealed.add(new Sealed(segment));
+                }
+            }
+        }
+        // a tail created but never written to, the previous segment stays the one holding the last record
+        if (tail != null && tail.count() == 0 && !sealed.isEmpty()) {
+            tail.close();
+            Files.delete(tail.file());
+            final Sealed previous = sealed.remove(sealed.size() - 1);
+            tail = Segment.open(previous.file, recordSize, recordsPerSegment);
+            nextIndex = index(previous.file) + 1;
+        }
+    }
+
+    private int index(Path file) {
+        final String fileName = file.getFileName().toString();
+        return Integer.parseInt(fileName.substring(name.length() + 1, fileName.length() - ".seg".length()));
+    }
+
+    /**
+     * @return timestamp of the last record, 0 if the series is empty
+     */
+    long lastTimestamp() {
+        final Segment last = lastSegment();
+        return last == null ? 0 : last.timestamp(last.count() - 1);
+    }
+
+    /**
+     * @return the segment holding the last record, <code>null</code> if the series is empty
+     */
+    Segment lastSegment() {
+        final Segment last = tail;
+        return last == null || last.count() == 0 ? null : last;
+    }
+
+    /**
+     * @return the segment the next record is appended to, a new one if the tail is full
+     */
+    Segment appendSegment() throws IOException {
+        final Segment last = tail;
+        if (last != null && !last.isFull()) {
+            return last;
+        }
+        final Path file = dir.resolve(String.format("%s-%08d.seg", name, nextIndex));
+        final Segment segment = Segment.open(file, recordSize, recordsPerSegment);
+        nextIndex++;
+        if (last != null) {
+            last.close();
+            sealed.add(new Sealed(last));
+        }
+        tail = segment;
+        return segment;
+    }
+
+    /**
+     * Visits all records with <code>from &lt;= timestamp &lt; to</code> in time order.
+     */
+    void scan(long from, long to, RecordVisitor visitor) {
+        final Segment last = tail;
+        for (Sealed s : sealed) {
+            if (s.last < from) {
+                continue;
+            }
+            if (s.first >= to || !scan(map(s), from, to, visitor)) {
+                return;
+            }
+            if (last != null && s.file.equals(last.file())) {
+                // sealed after the scan started
+                return;
+            }
+        }
+        if (last != null) {
+            scan(last, from, to, visitor);
+        }
+    }
+
+    private static boolean scan(Segment segment, long from, long to, RecordVisitor visitor) {
+        final int count = segment.count();
+        if (count == 0 || segment.timestamp(count - 1) < from) {
+            return true;
+        }
+        for (int i = segment.firstAtOrAfter(from); i < count; i++) {
+            if (segment.timestamp(i) >= to) {
+                return false;
+            }
+            if (!visitor.visit(segment.buffer(), segment.offset(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of records with <code>from &lt;= timestamp &lt; to</code>, only the segments at the boundaries
+     *         of the range are mapped
+     */
+    long count(long from, long to) {
+        final Segment last = tail;
+        long n = 0;
+        for (Sealed s : sealed) {
+            if (s.last < from) {
+                continue;
+            }
+            if (s.first >= to) {
+                return n;
+            }
+            if (s.first >= from && s.last < to) {
+                n += s.count;
+            } else {
+                n += count(map(s), from, to);
+            }
+            if (last != null && s.file.equals(last.file())) {
+                return n;
+            }
+        }
+        return last == null ? n : n + count(last, from, to);
+    }
+
+    private static int count(Segment segment, long from, long to) {
+        return segment.firstAtOrAfter(to) - segment.firstAtOrAfter(from);
+    }
+
+    private Segment map(Sealed s) {
+        synchronized (mapped) {
+            Segment segment = mapped.get(s.file);
+            if (segment == null) {
+                try {
+                    segment = Segment.map(s.file, recordSize, recordsPerSegment);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                mapped.put(s.file, segment);
+            }
+            return segment;
+        }
+    }
+
+    /**
+     * Deletes the sealed segments holding only records older than the given time.
+     *
+     * @return number of segment files deleted
+     */
+    int retain(long before) throws IOException {
+        int deleted = 0;
+        for (Sealed s : sealed) {
+            if (s.last >= before) {
+                break;
+            }
+            sealed.remove(s);
+            synchronized (mapped) {
+                mapped.remove(s.file);
+            }
+            Files.deleteIfExists(s.file);
+            deleted++;
+        }
+        return deleted;
+    }
+
+    void force() {
+        final Segment last = tail;
+        if (last != null) {
+            last.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (mapped) {
+            mapped.clear();
+        }
+        final Segment last = tail;
+        if (last != null) {
+            last.close();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.stift.housecontrol.timeseries;
+
+/**
+ * A raw sample or a rollup bucket of a measurement.
+ */
+public class TimeSeriesPoint {
+
+    private final long timestamp;
+    private final int count;
+    private final float min;
+    private final float max;
+    private final double avg;
+    private final float last;
+
+    public TimeSeriesPoint(long timestamp, int count, float min, float max, double avg, float last) {
+        this.timestamp = timestamp;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.avg = avg;
+        this.last = last;
+    }
+
+    /**
+     * @return time of the sample or start of the bucket, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return number of samples aggregated, 1 for a raw sample
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public float getMin() {
+        return min;
+    }
+
+    public float getMax() {
+        return max;
+    }
+
+    public double getAvg() {
+        return avg;
+    }
+
+    public float getLast() {
+        return last;
+    }
+}
@@ -0,0 +1,139 @@
+package com.stift.housecontrol.timeseries;
+
+import com.stift.housecontrol.model.Mess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent, append-only store of all measurements, with 1-minute, 1-hour and 1-day rollups maintained on ingest.
+ * <p>
+ * Every measurement has its own directory below <code>knx.store.dir</code>, holding memory-mapped segment files per
+ * resolution. Heap usage does not grow with the stored data, queries read the mapped segments directly.
+ */
+@Component
+public class TimeSeriesStore implements InitializingBean, DisposableBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+    @Value("${knx.store.dir:data/timeseries}")
+    private String dir = "data/timeseries";
+    @Value("${knx.store.segment-records:65536}")
+    private int segmentRecords = 65536;
+    @Value("${knx.store.raw-retention-days:90}")
+    private int rawRetentionDays = 90;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<Mess, MetricSeries> metrics = new EnumMap<>(Mess.class);
+
+    /**
+     * Appends a sample and updates the rollups of the measurement.
+     *
+     * @param mess the measurement
+     * @param timestamp milliseconds since the epoch
+     * @param value the sample
+     */
+    public void append(Mess mess, long timestamp, float value) throws IOException {
+        final MetricSeries series = metrics.get(mess);
+        if (series != null) {
+            series.append(timestamp, value);
+        }
+    }
+
+    /**
+     * Returns the samples or rollup buckets of a measurement within a time range.
+     *
+     * @param mess the measurement
+     * @param resolution the resolution, <code>null</code> to select one by the number of points in the range
+     * @param from start of the range (inclusive), in milliseconds since the epoch; rollups include the bucket
+     *             containing it
+     * @param to end of the range (exclusive), in milliseconds since the epoch
+     * @param maxPoints max. number of points returned, consecutive points are merged if there are more
+     * @return points in time order
+     */
+    public List<TimeSeriesPoint> query(Mess mess, Resolution resolution, long from, long to, int maxPoints) {
+        final MetricSeries series = metrics.get(mess);
+        if (series == null) {
+            return Collections.emptyList();
+        }
+        final Resolution r = resolution != null ? resolution : resolutionFor(series, from, to, maxPoints);
+        return series.query(r, r.bucketStart(from, zone), to, maxPoints);
+    }
+
+    /**
+     * Selects the finest resolution with not more than <code>maxPoints</code> points in the range, raw samples if
+     * there are few enough of them.
+     */
+    private Resolution resolutionFor(MetricSeries series, long from, long to, int maxPoints) {
+        if (series.count(Resolution.RAW, from, to) <= maxPoints) {
+            return Resolution.RAW;
+        }
+        for (Resolution r : new Resolution[] { Resolution.MINUTE, Resolution.HOUR }) {
+            if (series.count(r, r.bucketStart(from, zone), to) <= maxPoints) {
+                return r;
+            }
+        }
+        return Resolution.DAY;
+    }
+
+    /**
+     * Writes modified pages of the segments appended to, the OS does so anyway but at its own pace.
+     */
+    @Scheduled(fixedDelayString = "${knx.store.force-interval-ms:60000}")
+    public void force() {
+        metrics.values().forEach(MetricSeries::force);
+    }
+
+    /**
+     * Deletes raw samples older than <code>knx.store.raw-retention-days</code>, whole segments at a time. The rollups
+     * are kept.
+     */
+    @Scheduled(fixedDelayString = "${knx.store.retention-interval-ms:3600000}")
+    public void retain() {
+        if (rawRetentionDays <= 0) {
+            return;
+        }
+        final long before = System.currentTimeMillis() - rawRetentionDays * Resolution.DAY.getMillis();
+        for (Map.Entry<Mess, MetricSeries> entry : metrics.entrySet()) {
+            try {
+                final int deleted = entry.getValue().retainRaw(before);
+                if (deleted > 0) {
+                    LOGGER.info("Deleted {} raw segments of {}", deleted, entry.getKey());
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        for (Mess mess : new Mess[] { Mess.FEELED_TEMP, Mess.TEMP, Mess.HELLIGKEIT1, Mess.WIND, Mess.REGEN }) {
+            final Path path = Paths.get(dir, mess.name().toLowerCase());
+            Files.createDirectories(path);
+            metrics.put(mess, new MetricSeries(path, zone, segmentRecords));
+        }
+        LOGGER.info("Time-series store opened at {}", Paths.get(dir).toAbsolutePath());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (MetricSeries series : metrics.values()) {
+            series.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.stift.housecontrol.trace;
+
+import com.stift.housecontrol.connection.KnxConnectionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tuwien.auto.calimero.trace.TraceRecorder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Records all frames of the KNX link into trace files in <code>knx.trace.dir</code>, one file per recording.
+ * <p>
+ * Traces are replayed with {@link tuwien.auto.calimero.trace.TraceReplayer}, f.i. into a simulated link to reproduce
+ * a load situation.
+ */
+@Service
+public class BusTraceService implements DisposableBean {
+
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("'knx-'yyyyMMdd-HHmmss'.trace'");
+
+    private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private KnxConnectionService knxConnectionService;
+
+    @Value("${knx.trace.dir:traces}")
+    private String dir = "traces";
+
+    private TraceRecorder recorder;
+    private TraceStatus last = new TraceStatus(false, null, 0, 0);
+
+    /**
+     * Starts a new recording, a running recording is continued.
+     *
+     * @return state of the recording
+     * @throws IOException on error creating the trace file
+     */
+    public synchronized TraceStatus start() throws IOException {
+        if (recorder == null) {
+            final Path directory = Paths.get(dir);
+            Files.createDirectories(directory);
+            recorder = new TraceRecorder(directory.resolve(FILE_NAME.format(LocalDateTime.now())));
+            knxConnectionService.addLinkListener(recorder);
+            LOGGER.info("Recording bus trace to {}", recorder.file());
+        }
+        return getStatus();
+    }
+
+    /**
+     * Stops the running recording.
+     *
+     * @return state of the last recording
+     */
+    public synchronized TraceStatus stop() {
+        if (recorder != null) {
+            knxConnectionService.removeLinkListener(recorder);
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            last = status(false);
+            LOGGER.info("Recorded {} frames to {}", last.getFrames(), last.getFile());
+            recorder = null;
+        }
+        return last;
+    }
+
+    public synchronized TraceStatus getStatus() {
+        return recorder != null ? status(true) : last;
+    }
+
+    private TraceStatus status(boolean recording) {
+        return new TraceStatus(recording, recorder.file().toString(), recorder.frames(), recorder.size());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        stop();
+    }
+}
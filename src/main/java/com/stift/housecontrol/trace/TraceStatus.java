@@ -0,0 +1,38 @@
+package com.stift.housecontrol.trace;
+
+/**
+ * State of the bus trace recording.
+ */
+public class TraceStatus {
+
+    private final boolean recording;
+    private final String file;
+    private final long frames;
+    private final long bytes;
+
+    public TraceStatus(boolean recording, String file, long frames, long bytes) {
+        this.recording = recording;
+        this.file = file;
+        this.frames = frames;
+        this.bytes = bytes;
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * @return current or last trace file, <code>null</code> if nothing was recorded yet
+     */
+    public String getFile() {
+        return file;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+}
@@ -66,6 +66,11 @@ public class GroupAddress extends KNXAddress
 
 	private static volatile Presentation style = Presentation.ThreeLevelStyle;
 
+	// flyweights by raw address, filled on first use
+	private static final GroupAddress[] interned = new GroupAddress[0x10000];
+	// address strings by presentation style and raw address, filled on first use
+	private static final String[][] texts = new String[Presentation.values().length][];
+
 	/**
 	 * Creates a KNX group address from a raw (or free-style) 16 Bit address value.
 	 *
@@ -143,6 +148,53 @@ public class GroupAddress extends KNXAddress
 		super(parse(r));
 	}
 
+	/**
+	 * Returns the KNX group address of a raw (or free-style) 16 Bit address value. All calls with the same address value
+	 * return the same instance, so addresses decoded from frames or looked up in maps do not allocate.
+	 *
+	 * @param address the address value in the range 0 &le; value &le; 0xFFFF
+	 * @return the group address
+	 */
+	public static GroupAddress of(final int address)
+	{
+		if (address < 0 || address > 0xffff)
+			throw new KNXIllegalArgumentException("address out of range [0..0xFFFF]");
+		GroupAddress ga = interned[address];
+		if (ga == null) {
+			// addresses are immutable, a racing thread at most creates another equal instance
+			ga = new GroupAddress(address);
+			interned[address] = ga;
+		}
+		return ga;
+	}
+
+	/**
+	 * Returns the KNX group address of the 3-level notation main-, middle- and sub-group, see {@link #of(int)}.
+	 *
+	 * @param mainGroup main group value, in the range 0 &le; value &le; 0x1F
+	 * @param middleGroup middle group value, in the range 0 &le; value &le; 0x7
+	 * @param subGroup sub group value, in the range 0 &le; value &le; 0xFF
+	 * @return the group address
+	 */
+	public static GroupAddress of(final int mainGroup, final int middleGroup, final int subGroup)
+	{
+		return of(address(mainGroup, middleGroup, subGroup));
+	}
+
+	/**
+	 * Returns the KNX group address of a string <code>address</code>, see {@link #GroupAddress(String)} and
+	 * {@link #of(int)}.
+	 *
+	 * @param address string containing the KNX address
+	 * @return the group address
+	 * @throws KNXFormatException on unknown address type, wrong address syntax, group values out of range, or wrong
+	 *         separator used
+	 */
+	public static GroupAddress from(final String address) throws KNXFormatException
+	{
+		return of(parse(address));
+	}
+
 	/**
 	 * Presets the address presentation style for all KNX group addresses.
 	 * <p>
@@ -221,13 +273,31 @@ public class GroupAddress extends KNXAddress
 
 	/**
 	 * Returns the address as string, using the {@link #addressStyle()} preset with '/' as separator (if required).
+	 * <p>
+	 * Address strings are cached per presentation style.
 	 *
 	 * @return the address string
 	 */
 	@Override
 	public String toString()
 	{
-		switch (style) {
+		final Presentation p = style;
+		String[] cache = texts[p.ordinal()];
+		if (cache == null) {
+			cache = new String[0x10000];
+			texts[p.ordinal()] = cache;
+		}
+		String s = cache[address];
+		if (s == null) {
+			s = format(p);
+			cache[address] = s;
+		}
+		return s;
+	}
+
+	private String format(final Presentation p)
+	{
+		switch (p) {
 		case ThreeLevelStyle:
 			return getMainGroup() + "/" + getMiddleGroup() + "/" + getSubGroup8();
 		case TwoLevelStyle:
@@ -58,6 +58,10 @@ public class IndividualAddress extends KNXAddress
 {
 	static final String ATTR_IND = "individual";
 
+	// flyweights and address strings by raw address, filled on first use
+	private static final IndividualAddress[] interned = new IndividualAddress[0x10000];
+	private static final String[] texts = new String[0x10000];
+
 	/**
 	 * Creates a KNX individual address from a 16 Bit address value.
 	 *
@@ -124,6 +128,54 @@ public class IndividualAddress extends KNXAddress
 		super(parse(r));
 	}
 
+	/**
+	 * Returns the KNX individual address of a 16 Bit address value. All calls with the same address value return the
+	 * same instance, so addresses decoded from frames do not allocate.
+	 *
+	 * @param address the address value in the range 0 &le; value &le; 0xFFFF
+	 * @return the individual address
+	 */
+	public static IndividualAddress of(final int address)
+	{
+		if (address < 0 || address > 0xffff)
+			throw new KNXIllegalArgumentException("address out of range [0..0xFFFF]");
+		IndividualAddress ia = interned[address];
+		if (ia == null) {
+			// addresses are immutable, a racing thread at most creates another equal instance
+			ia = new IndividualAddress(address);
+			interned[address] = ia;
+		}
+		return ia;
+	}
+
+	/**
+	 * Returns the KNX individual address of the 3-level notation area-, line-, and device-address, see
+	 * {@link #of(int)}.
+	 *
+	 * @param area area address value, in the range 0 &le; value &le; 0xF
+	 * @param line line address value, in the range 0 &le; value &le; 0xF
+	 * @param device device address value, in the range 0 &le; value &le; 0xFF
+	 * @return the individual address
+	 */
+	public static IndividualAddress of(final int area, final int line, final int device)
+	{
+		return of(address(area, line, device));
+	}
+
+	/**
+	 * Returns the KNX individual address of a string <code>address</code> representation, see
+	 * {@link #IndividualAddress(String)} and {@link #of(int)}.
+	 *
+	 * @param address string containing the KNX address
+	 * @return the individual address
+	 * @throws KNXFormatException on unknown address type, wrong address syntax, address values out of range, or wrong
+	 *         separator used
+	 */
+	public static IndividualAddress from(final String address) throws KNXFormatException
+	{
+		return of(parse(address));
+	}
+
 	/**
 	 * Returns the area address, consisting of the 4 most significant Bits in the address field.
 	 *
@@ -168,7 +220,12 @@ public class IndividualAddress extends KNXAddress
 	@Override
 	public String toString()
 	{
-		return getArea() + "." + getLine() + "." + getDevice();
+		String s = texts[address];
+		if (s == null) {
+			s = getArea() + "." + getLine() + "." + getDevice();
+			texts[address] = s;
+		}
+		return s;
 	}
 
 	/**
@@ -144,9 +144,9 @@ public abstract class KNXAddress implements Comparable<KNXAddress>
 	public static KNXAddress create(final String address) throws KNXFormatException
 	{
 		if (address.contains("."))
-			return new IndividualAddress(address);
+			return IndividualAddress.from(address);
 		if (address.contains("/"))
-			return new GroupAddress(address);
+			return GroupAddress.from(address);
 		throw new KNXFormatException("could not detect address type of " + address);
 	}
 
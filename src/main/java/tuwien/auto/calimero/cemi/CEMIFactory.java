@@ -261,17 +261,17 @@ public final class CEMIFactory
 		final boolean ack = (frame[1] & 0x02) != 0;
 		final boolean c = (frame[1] & 0x01) != 0;
 		final int dst = (frame[4] & 0xff) << 8 | (frame[5] & 0xff);
-		final KNXAddress a = (frame[6] & 0x80) != 0 ? (KNXAddress) new GroupAddress(dst)
-				: new IndividualAddress(dst);
+		final KNXAddress a = (frame[6] & 0x80) != 0 ? (KNXAddress) GroupAddress.of(dst)
+				: IndividualAddress.of(dst);
 		final int hops = frame[6] >> 4 & 0x07;
 		final int len = (frame[6] & 0x0f) + 1;
 		final byte[] tpdu = Arrays.copyOfRange(frame, 7, len + 7);
 		final int src = ((frame[2] & 0xff) << 8) | (frame[3] & 0xff);
 
-		if (c) return new CEMILData(mc, new IndividualAddress(src), a, tpdu, p, c);
+		if (c) return new CEMILData(mc, IndividualAddress.of(src), a, tpdu, p, c);
 		// for .ind always create a not repeated frame, otherwise default repetition behavior
 		final boolean repeat = mc == CEMILData.MC_LDATA_IND ? false : true;
-		return new CEMILData(mc, new IndividualAddress(src), a, tpdu, p, repeat, domainBcast, ack, hops);
+		return new CEMILData(mc, IndividualAddress.of(src), a, tpdu, p, repeat, domainBcast, ack, hops);
 	}
 
 	/**
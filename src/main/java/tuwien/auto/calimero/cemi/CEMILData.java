@@ -516,14 +516,14 @@ public class CEMILData implements CEMI
 		ctrl1 = is.read();
 		getCtrlPriority();
 		ctrl2 = is.read();
-		final byte[] addr = new byte[2];
-		is.read(addr, 0, 2);
-		source = new IndividualAddress(addr);
-		is.read(addr, 0, 2);
+		final byte[] addr = new byte[4];
+		is.read(addr, 0, 4);
+		source = IndividualAddress.of((addr[0] & 0xff) << 8 | (addr[1] & 0xff));
+		final int raw = (addr[2] & 0xff) << 8 | (addr[3] & 0xff);
 		if ((ctrl2 & 0x80) != 0)
-			dst = new GroupAddress(addr);
+			dst = GroupAddress.of(raw);
 		else
-			dst = new IndividualAddress(addr);
+			dst = IndividualAddress.of(raw);
 	}
 
 	void readMC(final ByteArrayInputStream is) throws KNXFormatException
@@ -394,6 +394,7 @@ public final class TranslatorTypes
 		addTranslator(DPTXlator1BitControlled.class.getName());
 		addTranslator(DPTXlator2ByteFloat.class.getName());
 		addTranslator(DPTXlator8BitUnsigned.class.getName());
+		addTranslator(DPTXlatorBoolean.class.getName());
 		addTranslator(DPTXlatorDate.class.getName());
 
 	}
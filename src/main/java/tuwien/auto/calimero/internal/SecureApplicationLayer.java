@@ -703,7 +703,7 @@ public class SecureApplicationLayer implements AutoCloseable {
 				challenge);
 		// the returned completable future here is not important
 		stashSyncRequest(src, challenge);
-		syncReqBroadcast = dst.equals(new GroupAddress(0));
+		syncReqBroadcast = dst.equals(GroupAddress.of(0));
 		final var to = syncReqBroadcast ? dst : src;
 		try {
 			sendSyncResponse(to, toolAccess, nextSeq);
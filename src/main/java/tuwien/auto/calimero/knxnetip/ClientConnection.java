@@ -71,6 +71,7 @@ import tuwien.auto.calimero.knxnetip.util.HPAI;
 import tuwien.auto.calimero.knxnetip.util.TunnelCRD;
 import tuwien.auto.calimero.log.LogService;
 import tuwien.auto.calimero.log.LogService.LogLevel;
+import tuwien.auto.calimero.metrics.KnxMetrics;
 
 /**
  * Base implementation for client tunneling, device management, and routing.
@@ -283,6 +284,8 @@ abstract class ClientConnection extends ConnectionBase
 		waitForStateChange(ClientConnection.CEMI_CON_PENDING, ClientConnection.CONFIRMATION_TIMEOUT);
 		// throw on no answer
 		if (internalState == ClientConnection.CEMI_CON_PENDING) {
+			if (KnxMetrics.enabled())
+				KnxMetrics.knxipConfirmationTimeouts.increment();
 			final KNXTimeoutException e = new KNXTimeoutException("no confirmation reply received for " + keepForCon);
 			logger.warn("response timeout waiting for confirmation", e);
 			internalState = OK;
@@ -66,6 +66,7 @@ import tuwien.auto.calimero.knxnetip.servicetype.RoutingIndication;
 import tuwien.auto.calimero.knxnetip.servicetype.ServiceRequest;
 import tuwien.auto.calimero.knxnetip.util.HPAI;
 import tuwien.auto.calimero.log.LogService.LogLevel;
+import tuwien.auto.calimero.metrics.KnxMetrics;
 
 /**
  * Generic implementation of a KNXnet/IP connection, used for tunneling, device management and routing.
@@ -222,8 +223,13 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 				else
 					buf = PacketHelper.toPacket(new ServiceRequest(serviceRequest, channelId, getSeqSend(), frame));
 				keepForCon = frame;
+				final boolean metrics = KnxMetrics.enabled();
+				if (metrics)
+					KnxMetrics.knxipRequests.increment();
 				int attempt = 0;
 				for (; attempt < maxSendAttempts; ++attempt) {
+					if (metrics && attempt > 0)
+						KnxMetrics.knxipRepetitions.increment();
 					if (logger.isTraceEnabled())
 						logger.trace("sending cEMI frame seq {}, {}, attempt {} (channel {}) {}", getSeqSend(), mode,
 								(attempt + 1), channelId, DataUnitBuilder.toHex(buf, " "));
@@ -242,14 +248,20 @@ public abstract class ConnectionBase implements KNXnetIPConnection
 					state = ACK_PENDING;
 					if (mode == NonBlocking)
 						return;
+					final long start = metrics ? System.nanoTime() : 0;
 					waitForStateChange(ACK_PENDING, responseTimeout);
-					if (internalState == ClientConnection.CEMI_CON_PENDING || internalState == OK)
+					if (internalState == ClientConnection.CEMI_CON_PENDING || internalState == OK) {
+						if (metrics)
+							KnxMetrics.knxipAckLatency.record(System.nanoTime() - start);
 						break;
+					}
 					if (internalState == CLOSED)
 						throw new KNXConnectionClosedException("waiting for service ack");
 				}
 				// close connection on no service ack from server
 				if (attempt == maxSendAttempts) {
+					if (metrics)
+						KnxMetrics.knxipAckTimeouts.increment();
 					final KNXAckTimeoutException e = new KNXAckTimeoutException(
 							"maximum send attempts, no service acknowledgment received");
 					close(CloseEvent.INTERNAL, "maximum send attempts", LogLevel.ERROR, e);
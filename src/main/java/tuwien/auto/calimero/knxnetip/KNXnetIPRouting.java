@@ -72,6 +72,7 @@ import tuwien.auto.calimero.knxnetip.servicetype.RoutingLostMessage;
 import tuwien.auto.calimero.knxnetip.servicetype.RoutingSystemBroadcast;
 import tuwien.auto.calimero.log.LogService;
 import tuwien.auto.calimero.log.LogService.LogLevel;
+import tuwien.auto.calimero.metrics.KnxMetrics;
 
 /**
  * KNXnet/IP connection using the KNXnet/IP routing protocol.
@@ -416,14 +417,20 @@ public class KNXnetIPRouting extends ConnectionBase
 			final CEMI frame = ind.getCEMI();
 			if (discardLoopbackFrame(frame))
 				return true;
+			if (KnxMetrics.enabled())
+				KnxMetrics.routingIndications.increment();
 			fireFrameReceived(frame);
 		}
 		else if (svc == KNXnetIPHeader.ROUTING_LOST_MSG) {
 			final RoutingLostMessage lost = new RoutingLostMessage(data, offset);
+			if (KnxMetrics.enabled())
+				KnxMetrics.routingLostMessages.add(lost.getLostMessages());
 			fireLostMessage(new InetSocketAddress(src, port), lost);
 		}
 		else if (svc == KNXnetIPHeader.ROUTING_BUSY) {
 			final RoutingBusy busy = new RoutingBusy(data, offset);
+			if (KnxMetrics.enabled())
+				KnxMetrics.routingBusy.increment();
 			fireRoutingBusy(new InetSocketAddress(src, port), busy);
 		}
 		else if (svc == KNXnetIPHeader.RoutingSystemBroadcast && multicast.equals(systemBroadcast)) {
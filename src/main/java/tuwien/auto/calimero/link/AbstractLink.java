@@ -73,6 +73,7 @@ import tuwien.auto.calimero.link.medium.PLSettings;
 import tuwien.auto.calimero.link.medium.RFSettings;
 import tuwien.auto.calimero.link.medium.TPSettings;
 import tuwien.auto.calimero.log.LogService;
+import tuwien.auto.calimero.metrics.KnxMetrics;
 
 /**
  * Provides an abstract KNX network link implementation, independent of the actual communication
@@ -175,10 +176,15 @@ public abstract class AbstractLink<T extends AutoCloseable> implements KNXNetwor
 				final CEMILData ldata = (CEMILData) cemi;
 				final int mc = cemi.getMessageCode();
 				if (mc == CEMILData.MC_LDATA_IND) {
+					if (KnxMetrics.enabled())
+						KnxMetrics.linkFramesReceived.increment();
 					addEvent(l -> l.indication(new FrameEvent(source, ldata)));
 					logger.debug("indication {}", ldata);
 				}
 				else if (mc == CEMILData.MC_LDATA_CON) {
+					if (KnxMetrics.enabled())
+						(ldata.isPositiveConfirmation() ? KnxMetrics.linkConfirmations
+								: KnxMetrics.linkNegativeConfirmations).increment();
 					addEvent(l -> l.confirmation(new FrameEvent(source, ldata)));
 					if (ldata.isPositiveConfirmation())
 						logger.debug("confirmation of {}", ldata.getDestination());
@@ -264,6 +270,16 @@ public abstract class AbstractLink<T extends AutoCloseable> implements KNXNetwor
 		notifier.removeListener(l);
 	}
 
+	/**
+	 * Returns the number of link listeners currently registered with this link.
+	 *
+	 * @return number of registered link listeners, &ge; 0
+	 */
+	public final int linkListeners()
+	{
+		return notifier.getListeners().listeners().size();
+	}
+
 	@Override
 	public final void setHopCount(final int count)
 	{
@@ -299,6 +315,24 @@ public abstract class AbstractLink<T extends AutoCloseable> implements KNXNetwor
 	{
 		if (closed)
 			throw new KNXLinkClosedException("link closed");
+		if (!KnxMetrics.enabled()) {
+			sendLData(msg, waitForCon);
+			return;
+		}
+		final long start = System.nanoTime();
+		try {
+			sendLData(msg, waitForCon);
+		}
+		catch (final KNXTimeoutException e) {
+			KnxMetrics.linkSendTimeouts.increment();
+			throw e;
+		}
+		sent(start, waitForCon);
+	}
+
+	private void sendLData(final CEMILData msg, final boolean waitForCon)
+		throws KNXTimeoutException, KNXLinkClosedException
+	{
 		if (cEMI && !sendCEmiAsByteArray) {
 			final CEMILData adjusted = adjustMsgType(msg);
 			addMediumInfo(adjusted);
@@ -308,6 +342,13 @@ public abstract class AbstractLink<T extends AutoCloseable> implements KNXNetwor
 		onSend(msg.getDestination(), createEmi(msg, waitForCon), waitForCon);
 	}
 
+	private static void sent(final long start, final boolean waitForCon)
+	{
+		KnxMetrics.linkFramesSent.increment();
+		if (waitForCon)
+			KnxMetrics.linkConfirmationLatency.record(System.nanoTime() - start);
+	}
+
 	@Override
 	public final String getName()
 	{
@@ -361,6 +402,24 @@ public abstract class AbstractLink<T extends AutoCloseable> implements KNXNetwor
 	{
 		if (closed)
 			throw new KNXLinkClosedException("link closed");
+		if (!KnxMetrics.enabled()) {
+			sendLData(mc, dst, p, nsdu, waitForCon);
+			return;
+		}
+		final long start = System.nanoTime();
+		try {
+			sendLData(mc, dst, p, nsdu, waitForCon);
+		}
+		catch (final KNXTimeoutException e) {
+			KnxMetrics.linkSendTimeouts.increment();
+			throw e;
+		}
+		sent(start, waitForCon);
+	}
+
+	private void sendLData(final int mc, final KNXAddress dst, final Priority p, final byte[] nsdu,
+		final boolean waitForCon) throws KNXTimeoutException, KNXLinkClosedException
+	{
 		if (cEMI && !sendCEmiAsByteArray) {
 			final CEMILData f = cEMI(mc, dst, p, nsdu);
 			onSend(f, waitForCon);
@@ -606,7 +665,7 @@ public abstract class AbstractLink<T extends AutoCloseable> implements KNXNetwor
 	{
 		final IndividualAddress src = medium.getDeviceAddress();
 		// use default address 0 in system broadcast
-		final KNXAddress d = dst == null ? new GroupAddress(0) : dst;
+		final KNXAddress d = dst == null ? GroupAddress.of(0) : dst;
 		final boolean repeat = mc == CEMILData.MC_LDATA_IND ? false : true;
 		final boolean tp = medium.getMedium() == KNXMediumSettings.MEDIUM_TP1;
 		if (nsdu.length <= 16 && tp)
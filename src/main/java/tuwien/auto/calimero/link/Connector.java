@@ -75,6 +75,9 @@ public final class Connector
 
 	private boolean onSend = true;
 	private long reconnectDelay = 2000; // [ms]
+	// upper bound of the delay, the delay doubles with every failed attempt
+	private long maxReconnectDelay = 2000; // [ms]
+	private Runnable onConnect;
 	// reconnect on disconnect caused by:
 	private boolean initialError;
 	private boolean serverError = true;
@@ -91,6 +94,8 @@ public final class Connector
 	{
 		this.onSend = rhs.onSend;
 		this.reconnectDelay = rhs.reconnectDelay;
+		this.maxReconnectDelay = rhs.maxReconnectDelay;
+		this.onConnect = rhs.onConnect;
 		this.initialError = rhs.initialError;
 		this.serverError = rhs.serverError;
 		this.internalError = rhs.internalError;
@@ -121,6 +126,32 @@ public final class Connector
 
 	public Connector reconnectDelay(final Duration delay) {
 		reconnectDelay = delay.toMillis();
+		maxReconnectDelay = Math.max(maxReconnectDelay, reconnectDelay);
+		return this;
+	}
+
+	/**
+	 * Enables exponential backoff for scheduled reconnects: starting with the reconnect delay, the delay is doubled
+	 * with every failed attempt, up to the specified maximum.
+	 *
+	 * @param maxDelay max. delay between two connection attempts
+	 * @return this connector
+	 */
+	public Connector reconnectBackoff(final Duration maxDelay)
+	{
+		maxReconnectDelay = Math.max(maxDelay.toMillis(), reconnectDelay);
+		return this;
+	}
+
+	/**
+	 * Sets an action executed after every successful (re-)connect, on the connecting thread.
+	 *
+	 * @param action the action, <code>null</code> for none
+	 * @return this connector
+	 */
+	public Connector onConnect(final Runnable action)
+	{
+		onConnect = action;
 		return this;
 	}
 
@@ -336,6 +367,15 @@ public final class Connector
 			return !closed;
 		}
 
+		/**
+		 * @return <code>true</code> if the underlying connection is currently established, <code>false</code> while
+		 *         (re-)connecting
+		 */
+		public boolean isConnected()
+		{
+			return !closed && targetOpen();
+		}
+
 		@Override
 		public void close()
 		{
@@ -420,7 +460,9 @@ public final class Connector
 					scheduleConnect(remaining);
 				}
 			};
-			f = reconnect.schedule(s, connector.reconnectDelay, TimeUnit.MILLISECONDS);
+			final long backoff = connector.reconnectDelay << Math.min(attempt - 1, 20);
+			final long delay = Math.min(Math.max(backoff, connector.reconnectDelay), connector.maxReconnectDelay);
+			f = reconnect.schedule(s, delay, TimeUnit.MILLISECONDS);
 		}
 
 		private AutoCloseable connect() throws InterruptedException, KNXException
@@ -450,6 +492,15 @@ public final class Connector
 						listeners.forEach(monitor::addMonitorListener);
 					}
 					impl = t;
+					final Runnable action = connector.onConnect;
+					if (action != null) {
+						try {
+							action.run();
+						}
+						catch (final RuntimeException e) {
+							logger().warn("on connect action", e);
+						}
+					}
 				}
 				catch (final KNXRemoteException e) {
 					final KNXLinkClosedException lce = new KNXLinkClosedException(e.getMessage());
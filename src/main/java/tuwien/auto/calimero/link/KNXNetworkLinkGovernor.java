@@ -0,0 +1,455 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2018 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package tuwien.auto.calimero.link;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import tuwien.auto.calimero.KNXAddress;
+import tuwien.auto.calimero.KNXIllegalArgumentException;
+import tuwien.auto.calimero.KNXTimeoutException;
+import tuwien.auto.calimero.Priority;
+import tuwien.auto.calimero.cemi.CEMILData;
+import tuwien.auto.calimero.link.medium.KNXMediumSettings;
+
+/**
+ * Network link shaping the outbound telegrams of another link to a bus budget.
+ * <p>
+ * Every send request takes a token of a token bucket, refilled at the configured telegram rate up to the burst size.
+ * Requests without an available token wait in one queue per {@link TrafficClass}; tokens are handed to the waiting
+ * requests strictly by traffic class, in order of arrival within a class. Lower classes additionally leave a reserve of
+ * tokens in the bucket, so an interactive request finds a token even while background requests saturate the budget.
+ * <p>
+ * The traffic class of a request is the class of the sending thread, see {@link #scope(TrafficClass)}; it defaults to
+ * {@link TrafficClass#Automation}. Indications, confirmations and all other link functions are those of the shaped
+ * link.
+ */
+public class KNXNetworkLinkGovernor implements KNXNetworkLink
+{
+	/**
+	 * Traffic classes, in order of precedence.
+	 */
+	public enum TrafficClass {
+		/** Commands of a user waiting for the result. */
+		Interactive(0),
+		/** Scenes, rules and scheduled jobs. */
+		Automation(0.25),
+		/** Polling and health probes. */
+		Background(0.5);
+
+		// fraction of the burst size a request of this class leaves in the bucket
+		private final double reserve;
+
+		TrafficClass(final double reserve)
+		{
+			this.reserve = reserve;
+		}
+	}
+
+	/**
+	 * Traffic class scope of the current thread, restoring the previous class on close.
+	 */
+	public static final class Scope implements AutoCloseable
+	{
+		private final TrafficClass previous;
+
+		private Scope(final TrafficClass previous)
+		{
+			this.previous = previous;
+		}
+
+		@Override
+		public void close()
+		{
+			current.set(previous);
+		}
+	}
+
+	private static final ThreadLocal<TrafficClass> current = ThreadLocal.withInitial(() -> TrafficClass.Automation);
+
+	private static final class Waiter
+	{
+		boolean granted;
+	}
+
+	private static final TrafficClass[] classes = TrafficClass.values();
+
+	private final KNXNetworkLink link;
+	private final double telegramsPerNano;
+	private final int burst;
+	private final long maxWaitNanos;
+	private final double[] reserve = new double[classes.length];
+
+	// guarded by lock
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private final ArrayDeque<Waiter>[] queues = new ArrayDeque[classes.length];
+	private double tokens;
+	private long refilled;
+	private final long[] sent = new long[classes.length];
+	private final long[] waitNanos = new long[classes.length];
+	private final long[] maxWait = new long[classes.length];
+	private final long[] timeouts = new long[classes.length];
+
+	/**
+	 * Creates a governor for the supplied link, the governor takes ownership of the link.
+	 *
+	 * @param link the link to shape
+	 * @param telegramsPerSecond sustained telegram rate
+	 * @param burst maximum number of telegrams sent without waiting, at least 1
+	 * @param maxWaitMillis maximum time a request waits for its token
+	 */
+	public KNXNetworkLinkGovernor(final KNXNetworkLink link, final double telegramsPerSecond, final int burst,
+		final long maxWaitMillis)
+	{
+		if (telegramsPerSecond <= 0 || burst < 1)
+			throw new KNXIllegalArgumentException("telegram rate " + telegramsPerSecond + " or burst " + burst
+					+ " out of range");
+		this.link = link;
+		this.telegramsPerNano = telegramsPerSecond / 1e9;
+		this.burst = burst;
+		this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+		for (int i = 0; i < classes.length; i++) {
+			reserve[i] = classes[i].reserve * (burst - 1);
+			queues[i] = new ArrayDeque<>();
+		}
+		tokens = burst;
+		refilled = System.nanoTime();
+	}
+
+	/**
+	 * Sets the traffic class of the requests sent by the current thread until the returned scope is closed.
+	 *
+	 * @param trafficClass the traffic class
+	 * @return scope to close, restoring the previous traffic class
+	 */
+	public static Scope scope(final TrafficClass trafficClass)
+	{
+		final Scope scope = new Scope(current.get());
+		current.set(trafficClass);
+		return scope;
+	}
+
+	/**
+	 * @return traffic class of the requests sent by the current thread
+	 */
+	public static TrafficClass trafficClass()
+	{
+		return current.get();
+	}
+
+	/**
+	 * Waits for a token for a request of the current thread's traffic class, for a request then sent on
+	 * {@link #target()} directly. This keeps the time waiting for bus budget out of latency measurements of the shaped
+	 * link.
+	 *
+	 * @throws KNXTimeoutException on no token available within the maximum wait time
+	 * @throws KNXLinkClosedException if the shaped link is closed
+	 */
+	public final void acquireToken() throws KNXTimeoutException, KNXLinkClosedException
+	{
+		acquire();
+	}
+
+	/**
+	 * @return the shaped link
+	 */
+	public final KNXNetworkLink target()
+	{
+		return link;
+	}
+
+	/**
+	 * @return tokens currently available
+	 */
+	public final double tokens()
+	{
+		lock.lock();
+		try {
+			refill(System.nanoTime());
+			return tokens;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return number of requests waiting for a token, per traffic class
+	 */
+	public final int[] queued()
+	{
+		lock.lock();
+		try {
+			final int[] queued = new int[classes.length];
+			for (int i = 0; i < classes.length; i++)
+				queued[i] = queues[i].size();
+			return queued;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return number of requests which got a token, per traffic class
+	 */
+	public final long[] sent()
+	{
+		return copy(sent);
+	}
+
+	/**
+	 * @return total time in nanoseconds requests waited for their token, per traffic class
+	 */
+	public final long[] waitNanos()
+	{
+		return copy(waitNanos);
+	}
+
+	/**
+	 * @return longest time in nanoseconds a request waited for its token, per traffic class
+	 */
+	public final long[] maxWaitNanos()
+	{
+		return copy(maxWait);
+	}
+
+	/**
+	 * @return number of requests given up after waiting the maximum time, per traffic class
+	 */
+	public final long[] timeouts()
+	{
+		return copy(timeouts);
+	}
+
+	@Override
+	public void setKNXMedium(final KNXMediumSettings settings)
+	{
+		link.setKNXMedium(settings);
+	}
+
+	@Override
+	public KNXMediumSettings getKNXMedium()
+	{
+		return link.getKNXMedium();
+	}
+
+	@Override
+	public void addLinkListener(final NetworkLinkListener l)
+	{
+		link.addLinkListener(l);
+	}
+
+	@Override
+	public void removeLinkListener(final NetworkLinkListener l)
+	{
+		link.removeLinkListener(l);
+	}
+
+	@Override
+	public void setHopCount(final int count)
+	{
+		link.setHopCount(count);
+	}
+
+	@Override
+	public int getHopCount()
+	{
+		return link.getHopCount();
+	}
+
+	@Override
+	public void sendRequest(final KNXAddress dst, final Priority p, final byte[] nsdu)
+		throws KNXTimeoutException, KNXLinkClosedException
+	{
+		acquire();
+		link.sendRequest(dst, p, nsdu);
+	}
+
+	@Override
+	public void sendRequestWait(final KNXAddress dst, final Priority p, final byte[] nsdu)
+		throws KNXTimeoutException, KNXLinkClosedException
+	{
+		acquire();
+		link.sendRequestWait(dst, p, nsdu);
+	}
+
+	@Override
+	public void send(final CEMILData msg, final boolean waitForCon) throws KNXTimeoutException,
+		KNXLinkClosedException
+	{
+		acquire();
+		link.send(msg, waitForCon);
+	}
+
+	@Override
+	public String getName()
+	{
+		return link.getName();
+	}
+
+	@Override
+	public boolean isOpen()
+	{
+		return link.isOpen();
+	}
+
+	@Override
+	public void close()
+	{
+		link.close();
+	}
+
+	@Override
+	public String toString()
+	{
+		return link + " (" + telegramsPerNano * 1e9 + " telegrams/s, burst " + burst + ")";
+	}
+
+	// waits for a token in the queue of the thread's traffic class
+	private void acquire() throws KNXTimeoutException, KNXLinkClosedException
+	{
+		if (!link.isOpen())
+			throw new KNXLinkClosedException(link.getName() + " closed");
+		final int c = current.get().ordinal();
+		final long start = System.nanoTime();
+		lock.lock();
+		try {
+			refill(start);
+			if (!waiting(c) && tokens >= 1 + reserve[c]) {
+				tokens -= 1;
+				granted(c, 0);
+				return;
+			}
+			final Waiter w = new Waiter();
+			queues[c].addLast(w);
+			final long deadline = start + maxWaitNanos;
+			try {
+				while (true) {
+					final long now = System.nanoTime();
+					refill(now);
+					grant();
+					if (w.granted)
+						break;
+					final long remaining = deadline - now;
+					if (remaining <= 0) {
+						queues[c].remove(w);
+						timeouts[c]++;
+						throw new KNXTimeoutException("no bus budget for " + classes[c] + " request within "
+								+ TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+					}
+					changed.awaitNanos(Math.min(remaining, nanosUntilToken(c)));
+				}
+			}
+			catch (final InterruptedException e) {
+				if (!w.granted) {
+					queues[c].remove(w);
+					Thread.currentThread().interrupt();
+					throw new KNXTimeoutException("interrupted while waiting for bus budget");
+				}
+				Thread.currentThread().interrupt();
+			}
+			granted(c, System.nanoTime() - start);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	// true if requests of the same or a higher class are waiting
+	private boolean waiting(final int c)
+	{
+		for (int i = 0; i <= c; i++)
+			if (!queues[i].isEmpty())
+				return true;
+		return false;
+	}
+
+	// hands out available tokens to the queue heads, no lower class gets a token while a higher class waits
+	private void grant()
+	{
+		boolean any = false;
+		for (int c = 0; c < classes.length; c++) {
+			final ArrayDeque<Waiter> queue = queues[c];
+			while (!queue.isEmpty() && tokens >= 1 + reserve[c]) {
+				tokens -= 1;
+				queue.pollFirst().granted = true;
+				any = true;
+			}
+			if (!queue.isEmpty())
+				break;
+		}
+		if (any)
+			changed.signalAll();
+	}
+
+	private long nanosUntilToken(final int c)
+	{
+		final double missing = Math.max(1 + reserve[c] - tokens, 0);
+		return Math.max((long) Math.ceil(missing / telegramsPerNano), 1);
+	}
+
+	private void refill(final long now)
+	{
+		if (now <= refilled)
+			return;
+		tokens = Math.min(burst, tokens + (now - refilled) * telegramsPerNano);
+		refilled = now;
+	}
+
+	private void granted(final int c, final long waited)
+	{
+		sent[c]++;
+		waitNanos[c] += waited;
+		maxWait[c] = Math.max(maxWait[c], waited);
+	}
+
+	private long[] copy(final long[] counters)
+	{
+		lock.lock();
+		try {
+			return counters.clone();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,456 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2018 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package tuwien.auto.calimero.link;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.CloseEvent;
+import tuwien.auto.calimero.FrameEvent;
+import tuwien.auto.calimero.KNXAddress;
+import tuwien.auto.calimero.KNXIllegalArgumentException;
+import tuwien.auto.calimero.KNXTimeoutException;
+import tuwien.auto.calimero.Priority;
+import tuwien.auto.calimero.cemi.CEMI;
+import tuwien.auto.calimero.cemi.CEMILData;
+import tuwien.auto.calimero.link.medium.KNXMediumSettings;
+
+/**
+ * Network link using a pool of network links, usually several KNXnet/IP tunnels to one or more gateways.
+ * <p>
+ * A tunnel has only one outstanding request at a time. The pool sends every request over the usable link with the
+ * fewest requests in progress, and retries on another link if the chosen one turns out to be closed. A link is usable
+ * if it is open; a {@link Connector} link only while it is connected.
+ * <p>
+ * Every link of the pool receives the same bus traffic. Indications of all links are merged into one stream, an
+ * indication already received by another link within the de-duplication window is dropped. Frames sent over one link
+ * are registered as well, so their echo on the other links is dropped too.<br>
+ * Listeners are notified about a closed link only if no usable link remains.
+ */
+public class KNXNetworkLinkPool implements KNXNetworkLink
+{
+	private static final long DefaultDedupWindow = 1000; // [ms]
+
+	private final String name;
+	private final List<KNXNetworkLink> links;
+	private final AtomicInteger[] inFlight;
+	private final AtomicLong[] sent;
+	private final AtomicLong failovers = new AtomicLong();
+	private final AtomicLong duplicates = new AtomicLong();
+	private final AtomicInteger next = new AtomicInteger();
+	private final List<NetworkLinkListener> listeners = new CopyOnWriteArrayList<>();
+	private final Logger logger;
+
+	private final long dedupWindow;
+	// recently seen frames, oldest first
+	private final Deque<Seen> seen = new ArrayDeque<>();
+
+	private volatile boolean closed;
+
+	private static final class Seen
+	{
+		final long time;
+		final int src; // -1 for frames sent by us, matching any source
+		final int dst;
+		final byte[] tpdu;
+		int links; // bit set of the links which delivered the frame
+
+		Seen(final long time, final int src, final int dst, final byte[] tpdu, final int link)
+		{
+			this.time = time;
+			this.src = src;
+			this.dst = dst;
+			this.tpdu = tpdu;
+			links = 1 << link;
+		}
+	}
+
+	private final class MemberListener implements NetworkLinkListener
+	{
+		private final int index;
+
+		MemberListener(final int index)
+		{
+			this.index = index;
+		}
+
+		@Override
+		public void indication(final FrameEvent e)
+		{
+			if (isDuplicate(index, e.getFrame()))
+				return;
+			for (final NetworkLinkListener l : listeners) {
+				try {
+					l.indication(e);
+				}
+				catch (final RuntimeException rte) {
+					logger.error("indication listener", rte);
+				}
+			}
+		}
+
+		@Override
+		public void confirmation(final FrameEvent e)
+		{
+			// a confirmation only arrives on the link used for sending
+			for (final NetworkLinkListener l : listeners) {
+				try {
+					l.confirmation(e);
+				}
+				catch (final RuntimeException rte) {
+					logger.error("confirmation listener", rte);
+				}
+			}
+		}
+
+		@Override
+		public void linkClosed(final CloseEvent e)
+		{
+			logger.warn("{} closed: {}", links.get(index).getName(), e.getReason());
+			if (isConnected())
+				return;
+			for (final NetworkLinkListener l : listeners) {
+				try {
+					l.linkClosed(e);
+				}
+				catch (final RuntimeException rte) {
+					logger.error("close listener", rte);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a pool of the supplied links, the pool takes ownership of the links.
+	 *
+	 * @param name name of the pool
+	 * @param links the links, at most 32
+	 */
+	public KNXNetworkLinkPool(final String name, final List<? extends KNXNetworkLink> links)
+	{
+		this(name, links, DefaultDedupWindow);
+	}
+
+	/**
+	 * Creates a pool of the supplied links, the pool takes ownership of the links.
+	 *
+	 * @param name name of the pool
+	 * @param links the links, at most 32
+	 * @param dedupWindow time in milliseconds a frame is remembered to detect its duplicates
+	 */
+	public KNXNetworkLinkPool(final String name, final List<? extends KNXNetworkLink> links, final long dedupWindow)
+	{
+		if (links.isEmpty() || links.size() > 32)
+			throw new KNXIllegalArgumentException("pool requires 1 to 32 links, not " + links.size());
+		this.name = name;
+		this.links = Collections.unmodifiableList(new ArrayList<>(links));
+		this.dedupWindow = dedupWindow;
+		logger = LoggerFactory.getLogger("calimero.link." + name);
+		inFlight = new AtomicInteger[links.size()];
+		sent = new AtomicLong[links.size()];
+		for (int i = 0; i < links.size(); i++) {
+			inFlight[i] = new AtomicInteger();
+			sent[i] = new AtomicLong();
+			links.get(i).addLinkListener(new MemberListener(i));
+		}
+	}
+
+	/**
+	 * @return the links of this pool
+	 */
+	public final List<KNXNetworkLink> links()
+	{
+		return links;
+	}
+
+	/**
+	 * @return <code>true</code> if at least one link of the pool is usable for sending
+	 */
+	public final boolean isConnected()
+	{
+		if (closed)
+			return false;
+		for (final KNXNetworkLink link : links)
+			if (usable(link))
+				return true;
+		return false;
+	}
+
+	/**
+	 * @return number of requests currently in progress per link
+	 */
+	public final int[] inFlight()
+	{
+		return Arrays.stream(inFlight).mapToInt(AtomicInteger::get).toArray();
+	}
+
+	/**
+	 * @return number of requests sent per link
+	 */
+	public final long[] sent()
+	{
+		return Arrays.stream(sent).mapToLong(AtomicLong::get).toArray();
+	}
+
+	/**
+	 * @return number of requests retried on another link after their link was closed
+	 */
+	public final long failovers()
+	{
+		return failovers.get();
+	}
+
+	/**
+	 * @return number of indications dropped as duplicates
+	 */
+	public final long duplicates()
+	{
+		return duplicates.get();
+	}
+
+	@Override
+	public void setKNXMedium(final KNXMediumSettings settings)
+	{
+		links.forEach(l -> l.setKNXMedium(settings));
+	}
+
+	@Override
+	public KNXMediumSettings getKNXMedium()
+	{
+		return links.get(0).getKNXMedium();
+	}
+
+	@Override
+	public void addLinkListener(final NetworkLinkListener l)
+	{
+		if (!listeners.contains(l))
+			listeners.add(l);
+	}
+
+	@Override
+	public void removeLinkListener(final NetworkLinkListener l)
+	{
+		listeners.remove(l);
+	}
+
+	@Override
+	public void setHopCount(final int count)
+	{
+		links.forEach(l -> l.setHopCount(count));
+	}
+
+	@Override
+	public int getHopCount()
+	{
+		return links.get(0).getHopCount();
+	}
+
+	@Override
+	public void sendRequest(final KNXAddress dst, final Priority p, final byte[] nsdu)
+		throws KNXTimeoutException, KNXLinkClosedException
+	{
+		send(dst, nsdu, link -> link.sendRequest(dst, p, nsdu));
+	}
+
+	@Override
+	public void sendRequestWait(final KNXAddress dst, final Priority p, final byte[] nsdu)
+		throws KNXTimeoutException, KNXLinkClosedException
+	{
+		send(dst, nsdu, link -> link.sendRequestWait(dst, p, nsdu));
+	}
+
+	@Override
+	public void send(final CEMILData msg, final boolean waitForCon) throws KNXTimeoutException,
+		KNXLinkClosedException
+	{
+		send(msg.getDestination(), msg.getPayload(), link -> link.send(msg, waitForCon));
+	}
+
+	@Override
+	public String getName()
+	{
+		return name;
+	}
+
+	@Override
+	public boolean isOpen()
+	{
+		if (closed)
+			return false;
+		for (final KNXNetworkLink link : links)
+			if (link.isOpen())
+				return true;
+		return false;
+	}
+
+	@Override
+	public void close()
+	{
+		closed = true;
+		links.forEach(KNXNetworkLink::close);
+	}
+
+	@Override
+	public String toString()
+	{
+		return name + " " + links;
+	}
+
+	@FunctionalInterface
+	private interface Send
+	{
+		void send(KNXNetworkLink link) throws KNXTimeoutException, KNXLinkClosedException;
+	}
+
+	private void send(final KNXAddress dst, final byte[] tpdu, final Send send)
+		throws KNXTimeoutException, KNXLinkClosedException
+	{
+		if (closed)
+			throw new KNXLinkClosedException(name + " closed");
+		int tried = 0;
+		KNXLinkClosedException last = null;
+		while (true) {
+			final int i = leastBusy(tried);
+			if (i < 0)
+				break;
+			tried |= 1 << i;
+			inFlight[i].incrementAndGet();
+			try {
+				sent(i, dst, tpdu);
+				send.send(links.get(i));
+				sent[i].incrementAndGet();
+				return;
+			}
+			catch (final KNXLinkClosedException e) {
+				last = e;
+				failovers.incrementAndGet();
+				logger.info("{} closed, trying next link", links.get(i).getName());
+			}
+			finally {
+				inFlight[i].decrementAndGet();
+			}
+		}
+		final KNXLinkClosedException e = new KNXLinkClosedException(name + ": no usable link");
+		if (last != null)
+			e.initCause(last);
+		throw e;
+	}
+
+	// usable link with the fewest requests in progress, not yet tried; ties rotate; -1 if none
+	private int leastBusy(final int tried)
+	{
+		final int size = links.size();
+		final int start = Math.floorMod(next.getAndIncrement(), size);
+		int best = -1;
+		int min = Integer.MAX_VALUE;
+		for (int k = 0; k < size; k++) {
+			final int i = (start + k) % size;
+			if ((tried & (1 << i)) != 0 || !usable(links.get(i)))
+				continue;
+			final int n = inFlight[i].get();
+			if (n < min) {
+				min = n;
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	private static boolean usable(final KNXNetworkLink link)
+	{
+		if (link instanceof Connector.Link)
+			return ((Connector.Link<?>) link).isConnected();
+		return link.isOpen();
+	}
+
+	// registers a frame about to be sent over link i, to drop its echo on the other links
+	private void sent(final int i, final KNXAddress dst, final byte[] tpdu)
+	{
+		if (links.size() == 1)
+			return;
+		synchronized (seen) {
+			final long now = System.currentTimeMillis();
+			expire(now);
+			seen.addLast(new Seen(now, -1, dst.getRawAddress(), tpdu.clone(), i));
+		}
+	}
+
+	private boolean isDuplicate(final int link, final CEMI frame)
+	{
+		if (links.size() == 1 || !(frame instanceof CEMILData))
+			return false;
+		final CEMILData ldata = (CEMILData) frame;
+		final int src = ldata.getSource().getRawAddress();
+		final int dst = ldata.getDestination().getRawAddress();
+		final byte[] tpdu = ldata.getPayload();
+		final int bit = 1 << link;
+		synchronized (seen) {
+			final long now = System.currentTimeMillis();
+			expire(now);
+			for (final Seen s : seen) {
+				if ((s.links & bit) == 0 && s.dst == dst && (s.src == -1 || s.src == src)
+						&& Arrays.equals(s.tpdu, tpdu)) {
+					s.links |= bit;
+					duplicates.incrementAndGet();
+					return true;
+				}
+			}
+			seen.addLast(new Seen(now, src, dst, tpdu, link));
+		}
+		return false;
+	}
+
+	private void expire(final long now)
+	{
+		for (final Iterator<Seen> i = seen.iterator(); i.hasNext();) {
+			if (now - i.next().time <= dedupWindow)
+				break;
+			i.remove();
+		}
+	}
+}
@@ -0,0 +1,468 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2018 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package tuwien.auto.calimero.link;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.CloseEvent;
+import tuwien.auto.calimero.DataUnitBuilder;
+import tuwien.auto.calimero.FrameEvent;
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXAddress;
+import tuwien.auto.calimero.KNXIllegalArgumentException;
+import tuwien.auto.calimero.KNXTimeoutException;
+import tuwien.auto.calimero.Priority;
+import tuwien.auto.calimero.cemi.CEMILData;
+import tuwien.auto.calimero.internal.EventListeners;
+import tuwien.auto.calimero.link.medium.KNXMediumSettings;
+import tuwien.auto.calimero.link.medium.TPSettings;
+
+/**
+ * Network link to a simulated KNX installation, for load tests without gateway and network.
+ * <p>
+ * The installation consists of group objects, each owned by a device, holding the value of its group address. Group
+ * writes sent over the link update the value, group reads are answered by the owning device with a group response
+ * after the response delay. Cyclic group objects are written by their device at a fixed period, like sensors.
+ * <p>
+ * The bus is modelled as one medium transmitting a telegram at a time, limited to the configured telegram rate (TP1
+ * carries about 50 telegrams per second). Every telegram, sent or generated, takes the next free slot; it is
+ * indicated, or confirmed by an L-Data.con after the confirmation latency plus a random jitter, once its slot ends.
+ * Cyclic telegrams which would wait longer than the maximum queue delay for their slot are dropped, as a device
+ * would drop them on a congested bus; sent requests always queue and may time out waiting for the confirmation.
+ * <p>
+ * Events are delivered on the bus thread of the simulator.
+ */
+public class KNXNetworkLinkSimulator implements KNXNetworkLink
+{
+	private static final int GroupRead = 0x00;
+	private static final int GroupResponse = 0x40;
+	private static final int GroupWrite = 0x80;
+
+	private static final long ConfirmationTimeout = 3000; // [ms]
+
+	private static final class GroupObject
+	{
+		final IndividualAddress device;
+		final boolean optimized;
+		// APDU of the group response carrying the current value
+		volatile byte[] value;
+
+		GroupObject(final IndividualAddress device, final byte[] asdu, final boolean optimized)
+		{
+			this.device = device;
+			this.optimized = optimized;
+			value = response(asdu, optimized);
+		}
+	}
+
+	private final String name;
+	private final Logger logger;
+	private final EventListeners<NetworkLinkListener> listeners;
+	private final ScheduledThreadPoolExecutor bus;
+	private final Map<GroupAddress, GroupObject> objects = new ConcurrentHashMap<>();
+
+	private volatile KNXMediumSettings medium;
+	private volatile int hopCount = 6;
+	private volatile boolean closed;
+
+	private volatile long slotNanos = TimeUnit.SECONDS.toNanos(1) / 50;
+	private volatile long confirmationLatency = TimeUnit.MILLISECONDS.toNanos(10);
+	private volatile long jitter = TimeUnit.MILLISECONDS.toNanos(5);
+	private volatile long responseDelay = TimeUnit.MILLISECONDS.toNanos(5);
+	private volatile long maxQueueDelay = TimeUnit.SECONDS.toNanos(2);
+
+	private final long created = System.nanoTime();
+	// guarded by this
+	private long busyUntil = created;
+	private long busyNanos;
+
+	private final AtomicLong telegrams = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * Creates a link to an empty simulated installation with TP1 medium.
+	 *
+	 * @param name link name
+	 * @param settings medium settings, the device address is the source of frames sent over the link
+	 */
+	public KNXNetworkLinkSimulator(final String name, final TPSettings settings)
+	{
+		this.name = name;
+		medium = settings;
+		logger = LoggerFactory.getLogger("calimero.link." + name);
+		listeners = new EventListeners<>(logger);
+		bus = new ScheduledThreadPoolExecutor(1, r -> {
+			final Thread t = new Thread(r, name + " bus");
+			t.setDaemon(true);
+			return t;
+		});
+		bus.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Limits the bus to the supplied telegram rate.
+	 *
+	 * @param telegramsPerSecond maximum telegrams per second, TP1 carries about 50
+	 * @return this link
+	 */
+	public KNXNetworkLinkSimulator telegramsPerSecond(final double telegramsPerSecond)
+	{
+		if (telegramsPerSecond <= 0)
+			throw new KNXIllegalArgumentException("telegram rate " + telegramsPerSecond + " out of range");
+		slotNanos = (long) (1e9 / telegramsPerSecond);
+		return this;
+	}
+
+	/**
+	 * Sets the delay of the L-Data.con after the transmission of a sent frame, a random jitter in [0, jitter) is
+	 * added to every confirmation.
+	 *
+	 * @param latency confirmation latency
+	 * @param jitter maximum additional random latency
+	 * @return this link
+	 */
+	public KNXNetworkLinkSimulator confirmationLatency(final Duration latency, final Duration jitter)
+	{
+		confirmationLatency = latency.toNanos();
+		this.jitter = jitter.toNanos();
+		return this;
+	}
+
+	/**
+	 * Sets the time a device takes to answer a group read.
+	 *
+	 * @param delay response delay
+	 * @return this link
+	 */
+	public KNXNetworkLinkSimulator responseDelay(final Duration delay)
+	{
+		responseDelay = delay.toNanos();
+		return this;
+	}
+
+	/**
+	 * Sets the maximum time a cyclic telegram waits for its slot before it is dropped.
+	 *
+	 * @param delay maximum queue delay
+	 * @return this link
+	 */
+	public KNXNetworkLinkSimulator maxQueueDelay(final Duration delay)
+	{
+		maxQueueDelay = delay.toNanos();
+		return this;
+	}
+
+	/**
+	 * Adds a group object to the installation, replacing an existing object of the same group address.
+	 *
+	 * @param device address of the device owning the group object
+	 * @param ga group address
+	 * @param asdu initial value
+	 * @param optimized <code>true</code> if the value of at most 6 bits is merged into the APCI
+	 * @return this link
+	 */
+	public KNXNetworkLinkSimulator groupObject(final IndividualAddress device, final GroupAddress ga,
+		final byte[] asdu, final boolean optimized)
+	{
+		objects.put(ga, new GroupObject(device, asdu, optimized));
+		return this;
+	}
+
+	/**
+	 * Adds a group object written by its device at a fixed period, starting at a random phase within the period.
+	 *
+	 * @param device address of the device owning the group object
+	 * @param ga group address
+	 * @param period time between two writes
+	 * @param value supplies the value of every write
+	 * @param optimized <code>true</code> if the value of at most 6 bits is merged into the APCI
+	 * @return this link
+	 */
+	public KNXNetworkLinkSimulator cyclic(final IndividualAddress device, final GroupAddress ga,
+		final Duration period, final Supplier<byte[]> value, final boolean optimized)
+	{
+		final GroupObject object = new GroupObject(device, value.get(), optimized);
+		objects.put(ga, object);
+		final long nanos = period.toNanos();
+		bus.scheduleAtFixedRate(() -> write(ga, object, value.get()), ThreadLocalRandom.current().nextLong(nanos),
+				nanos, TimeUnit.NANOSECONDS);
+		return this;
+	}
+
+	/**
+	 * @return number of telegrams transmitted on the simulated bus
+	 */
+	public final long telegrams()
+	{
+		return telegrams.get();
+	}
+
+	/**
+	 * @return number of cyclic telegrams dropped because the bus was congested
+	 */
+	public final long dropped()
+	{
+		return dropped.get();
+	}
+
+	/**
+	 * @return fraction of the time the bus was transmitting since the simulation started
+	 */
+	public final synchronized double busLoad()
+	{
+		final long elapsed = System.nanoTime() - created;
+		return elapsed > 0 ? Math.min(1, (double) busyNanos / elapsed) : 0;
+	}
+
+	/**
+	 * @return current time in nanoseconds a new telegram waits for its slot
+	 */
+	public final synchronized long queueDelayNanos()
+	{
+		return Math.max(0, busyUntil - System.nanoTime());
+	}
+
+	@Override
+	public void setKNXMedium(final KNXMediumSettings settings)
+	{
+		medium = settings;
+	}
+
+	@Override
+	public KNXMediumSettings getKNXMedium()
+	{
+		return medium;
+	}
+
+	@Override
+	public void addLinkListener(final NetworkLinkListener l)
+	{
+		listeners.add(l);
+	}
+
+	@Override
+	public void removeLinkListener(final NetworkLinkListener l)
+	{
+		listeners.remove(l);
+	}
+
+	@Override
+	public void setHopCount(final int count)
+	{
+		if (count < 0 || count > 7)
+			throw new KNXIllegalArgumentException("hop count out of range [0..7]");
+		hopCount = count;
+	}
+
+	@Override
+	public int getHopCount()
+	{
+		return hopCount;
+	}
+
+	@Override
+	public void sendRequest(final KNXAddress dst, final Priority p, final byte[] nsdu)
+		throws KNXLinkClosedException
+	{
+		transmit(new CEMILData(CEMILData.MC_LDATA_REQ, medium.getDeviceAddress(), dst, nsdu, p));
+	}
+
+	@Override
+	public void sendRequestWait(final KNXAddress dst, final Priority p, final byte[] nsdu)
+		throws KNXTimeoutException, KNXLinkClosedException
+	{
+		waitFor(transmit(new CEMILData(CEMILData.MC_LDATA_REQ, medium.getDeviceAddress(), dst, nsdu, p)));
+	}
+
+	@Override
+	public void send(final CEMILData msg, final boolean waitForCon) throws KNXTimeoutException,
+		KNXLinkClosedException
+	{
+		final CompletableFuture<Void> con = transmit(msg);
+		if (waitForCon)
+			waitFor(con);
+	}
+
+	@Override
+	public String getName()
+	{
+		return name;
+	}
+
+	@Override
+	public boolean isOpen()
+	{
+		return !closed;
+	}
+
+	@Override
+	public void close()
+	{
+		synchronized (this) {
+			if (closed)
+				return;
+			closed = true;
+		}
+		bus.shutdownNow();
+		final CloseEvent e = new CloseEvent(this, CloseEvent.USER_REQUEST, "user request");
+		listeners.fire(l -> l.linkClosed(e));
+	}
+
+	@Override
+	public String toString()
+	{
+		return "simulated link " + name + " (" + objects.size() + " group objects, " + 1e9 / slotNanos
+				+ " telegrams/s)";
+	}
+
+	// puts a sent frame on the bus, the returned future completes after its confirmation
+	private CompletableFuture<Void> transmit(final CEMILData req) throws KNXLinkClosedException
+	{
+		if (closed)
+			throw new KNXLinkClosedException(name + " closed");
+		final long end = reserve(System.nanoTime(), Long.MAX_VALUE);
+		final CompletableFuture<Void> con = new CompletableFuture<>();
+		final long latency = confirmationLatency + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter) : 0);
+		at(end + latency, () -> {
+			final CEMILData f = new CEMILData(CEMILData.MC_LDATA_CON, req.getSource(), req.getDestination(),
+					req.getPayload(), req.getPriority(), false);
+			listeners.fire(l -> l.confirmation(new FrameEvent(this, f)));
+			con.complete(null);
+		});
+		at(end, () -> received(req, end));
+		return con;
+	}
+
+	// applies a frame sent over the link to the installation
+	private void received(final CEMILData req, final long end)
+	{
+		if (!(req.getDestination() instanceof GroupAddress))
+			return;
+		final GroupAddress ga = (GroupAddress) req.getDestination();
+		final GroupObject object = objects.get(ga);
+		if (object == null)
+			return;
+		final byte[] tpdu = req.getPayload();
+		final int service = DataUnitBuilder.getAPDUService(tpdu);
+		if (service == GroupWrite) {
+			object.value = tpdu.clone();
+			object.value[1] = (byte) ((object.value[1] & 0x3f) | GroupResponse);
+		}
+		else if (service == GroupRead) {
+			final byte[] response = object.value;
+			final long responseEnd = reserve(end + responseDelay, Long.MAX_VALUE);
+			at(responseEnd, () -> indicate(object.device, ga, response));
+		}
+	}
+
+	private void write(final GroupAddress ga, final GroupObject object, final byte[] asdu)
+	{
+		final byte[] response = response(asdu, object.optimized);
+		object.value = response;
+		final byte[] apdu = response.clone();
+		apdu[1] = (byte) ((apdu[1] & 0x3f) | GroupWrite);
+		final long end = reserve(System.nanoTime(), maxQueueDelay);
+		if (end < 0) {
+			dropped.incrementAndGet();
+			return;
+		}
+		at(end, () -> indicate(object.device, ga, apdu));
+	}
+
+	private void indicate(final IndividualAddress src, final GroupAddress dst, final byte[] apdu)
+	{
+		final CEMILData f = new CEMILData(CEMILData.MC_LDATA_IND, src, dst, apdu, Priority.LOW);
+		listeners.fire(l -> l.indication(new FrameEvent(this, f)));
+	}
+
+	// reserves the next free slot at or after earliest, returns the end of the slot, or -1 if the slot would start
+	// later than maxDelay after earliest
+	private synchronized long reserve(final long earliest, final long maxDelay)
+	{
+		final long start = Math.max(earliest, busyUntil);
+		if (start - earliest > maxDelay)
+			return -1;
+		busyUntil = start + slotNanos;
+		busyNanos += slotNanos;
+		telegrams.incrementAndGet();
+		return busyUntil;
+	}
+
+	private void at(final long nanoTime, final Runnable event)
+	{
+		if (closed)
+			return;
+		bus.schedule(event, nanoTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+	}
+
+	private void waitFor(final CompletableFuture<Void> con) throws KNXTimeoutException
+	{
+		try {
+			con.get(ConfirmationTimeout, TimeUnit.MILLISECONDS);
+		}
+		catch (final TimeoutException e) {
+			throw new KNXTimeoutException("no confirmation within " + ConfirmationTimeout + " ms");
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new KNXTimeoutException("interrupted waiting for confirmation");
+		}
+		catch (final ExecutionException e) {
+			throw new KNXTimeoutException(String.valueOf(e.getCause()));
+		}
+	}
+
+	private static byte[] response(final byte[] asdu, final boolean optimized)
+	{
+		return optimized ? DataUnitBuilder.createLengthOptimizedAPDU(GroupResponse, asdu)
+				: DataUnitBuilder.createAPDU(GroupResponse, asdu);
+	}
+}
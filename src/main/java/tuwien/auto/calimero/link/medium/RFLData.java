@@ -216,7 +216,7 @@ public class RFLData implements RawFrame
 		// KNX source address
 		final byte[] addr = new byte[2];
 		is.read(addr, 0, 2);
-		src = new IndividualAddress(addr);
+		src = IndividualAddress.of((addr[0] & 0xff) << 8 | (addr[1] & 0xff));
 
 		// KNX destination address
 		// read dst field, Ind/Group address is created below
@@ -231,7 +231,8 @@ public class RFLData implements RawFrame
 		lfn = (lpci >>> 1) & 0x07;
 		isDoA = (lpci & 0x01) == 0x01;
 
-		dst = group ? new GroupAddress(addr) : new IndividualAddress(addr);
+		final int raw = (addr[0] & 0xff) << 8 | (addr[1] & 0xff);
+		dst = group ? GroupAddress.of(raw) : IndividualAddress.of(raw);
 
 		// allocate array for complete TPDU
 		final int tpduSize = length - TpduOffset;
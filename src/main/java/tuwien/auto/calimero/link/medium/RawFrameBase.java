@@ -249,7 +249,7 @@ public abstract class RawFrameBase implements RawFrame
 			is.read(doa, 0, 2);
 		}
 
-		src = new IndividualAddress((is.read() << 8) | is.read());
+		src = IndividualAddress.of((is.read() << 8) | is.read());
 		final int addr = (is.read() << 8) | is.read();
 		final int npci = is.read();
 		final int len;
@@ -268,7 +268,7 @@ public abstract class RawFrameBase implements RawFrame
 
 	void setDestination(final int addr, final boolean group)
 	{
-		dst = group ? (KNXAddress) new GroupAddress(addr) : new IndividualAddress(addr);
+		dst = group ? (KNXAddress) GroupAddress.of(addr) : IndividualAddress.of(addr);
 	}
 
 	int readCtrlEx(final ByteArrayInputStream is) throws KNXFormatException
@@ -75,9 +75,9 @@ public class TP1LPollData extends RawFrameBase
 		type = LPOLLDATA_FRAME;
 		p = Priority.get((ctrl >> 2) & 0x3);
 		int addr = (is.read() << 8) | is.read();
-		src = new IndividualAddress(addr);
+		src = IndividualAddress.of(addr);
 		addr = (is.read() << 8) | is.read();
-		dst = new GroupAddress(addr);
+		dst = GroupAddress.of(addr);
 		final int len = is.read() & 0x0f;
 		expData = len;
 		fcs = is.read();
@@ -0,0 +1,173 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2018 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package tuwien.auto.calimero.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Instrumentation of the KNX communication path: network links, KNXnet/IP connections, routing, and process
+ * communication.
+ * <p>
+ * Instrumented code guards every update with {@link #enabled()}, a single read of a volatile field; while
+ * instrumentation is disabled (default), no counter is touched and no time is taken. Counters and histograms are
+ * updated without locking, and can be written in the Prometheus text exposition format using
+ * {@link #writePrometheus()}.
+ */
+public final class KnxMetrics
+{
+	private static volatile boolean enabled;
+
+	private static final List<Metric> metrics = new ArrayList<>();
+
+	/** Frames sent by network links. */
+	public static final Counter linkFramesSent = counter("calimero_link_frames_sent_total",
+			"L-Data requests sent by network links");
+	/** Indications received by network links. */
+	public static final Counter linkFramesReceived = counter("calimero_link_frames_received_total",
+			"L-Data indications received by network links");
+	/** Positive L-Data confirmations. */
+	public static final Counter linkConfirmations = counter("calimero_link_confirmations_total",
+			"positive L-Data confirmations received by network links");
+	/** Negative L-Data confirmations. */
+	public static final Counter linkNegativeConfirmations = counter("calimero_link_negative_confirmations_total",
+			"negative L-Data confirmations received by network links");
+	/** Sends which timed out. */
+	public static final Counter linkSendTimeouts = counter("calimero_link_send_timeouts_total",
+			"sends of network links failed with a timeout");
+	/** Time of sends waiting for the L-Data confirmation. */
+	public static final LatencyHistogram linkConfirmationLatency = histogram("calimero_link_confirmation_seconds",
+			"time of network link sends waiting for the L-Data confirmation");
+
+	/** KNXnet/IP service requests sent, without repetitions. */
+	public static final Counter knxipRequests = counter("calimero_knxnetip_requests_total",
+			"KNXnet/IP service requests sent");
+	/** KNXnet/IP service requests repeated after a missing acknowledgment. */
+	public static final Counter knxipRepetitions = counter("calimero_knxnetip_repetitions_total",
+			"KNXnet/IP service requests repeated after a missing acknowledgment");
+	/** KNXnet/IP service requests never acknowledged. */
+	public static final Counter knxipAckTimeouts = counter("calimero_knxnetip_ack_timeouts_total",
+			"KNXnet/IP service requests without acknowledgment after all attempts");
+	/** Tunneling requests without cEMI confirmation. */
+	public static final Counter knxipConfirmationTimeouts = counter("calimero_knxnetip_confirmation_timeouts_total",
+			"KNXnet/IP tunneling requests without cEMI confirmation");
+	/** Time until the service acknowledgment. */
+	public static final LatencyHistogram knxipAckLatency = histogram("calimero_knxnetip_ack_seconds",
+			"time from sending a KNXnet/IP service request until its acknowledgment");
+
+	/** Routing indications received. */
+	public static final Counter routingIndications = counter("calimero_routing_indications_total",
+			"KNXnet/IP routing indications received");
+	/** Routing busy messages received. */
+	public static final Counter routingBusy = counter("calimero_routing_busy_total",
+			"KNXnet/IP routing busy messages received");
+	/** Messages lost by routers, as reported by routing lost message. */
+	public static final Counter routingLostMessages = counter("calimero_routing_lost_messages_total",
+			"messages lost by KNXnet/IP routers, as reported by routing lost message");
+
+	/** Group reads. */
+	public static final Counter groupReads = counter("calimero_process_group_reads_total",
+			"group reads of process communicators");
+	/** Group reads without response. */
+	public static final Counter groupReadTimeouts = counter("calimero_process_group_read_timeouts_total",
+			"group reads of process communicators without response");
+	/** Group reads answered by the request of a concurrent read of the same group address. */
+	public static final Counter groupReadsCoalesced = counter("calimero_process_group_reads_coalesced_total",
+			"group reads of process communicators sharing the request of a concurrent read");
+	/** Group writes. */
+	public static final Counter groupWrites = counter("calimero_process_group_writes_total",
+			"group writes of process communicators");
+	/** Time of group reads until the response. */
+	public static final LatencyHistogram groupReadLatency = histogram("calimero_process_group_read_seconds",
+			"time of group reads until the response");
+
+	private KnxMetrics() {}
+
+	/**
+	 * @return <code>true</code> if instrumented code updates the metrics
+	 */
+	public static boolean enabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables the instrumentation, the metrics keep their values while disabled.
+	 *
+	 * @param enable <code>true</code> to update the metrics
+	 */
+	public static void enable(final boolean enable)
+	{
+		enabled = enable;
+	}
+
+	/**
+	 * @return all metrics, in order of registration
+	 */
+	public static List<Metric> metrics()
+	{
+		return Collections.unmodifiableList(metrics);
+	}
+
+	/**
+	 * Writes all metrics in the Prometheus text exposition format, version 0.0.4.
+	 *
+	 * @return the metrics as text
+	 */
+	public static String writePrometheus()
+	{
+		final StringBuilder out = new StringBuilder(4096);
+		for (final Metric m : metrics)
+			m.writeTo(out);
+		return out.toString();
+	}
+
+	private static Counter counter(final String name, final String help)
+	{
+		final Counter c = new Counter(name, help);
+		metrics.add(c);
+		return c;
+	}
+
+	private static LatencyHistogram histogram(final String name, final String help)
+	{
+		final LatencyHistogram h = new LatencyHistogram(name, help);
+		metrics.add(h);
+		return h;
+	}
+}
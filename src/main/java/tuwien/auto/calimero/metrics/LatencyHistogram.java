@@ -0,0 +1,187 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2018 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package tuwien.auto.calimero.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with log-linear buckets, in the manner of an HDR histogram, updated without locking.
+ * <p>
+ * Latencies are recorded in microseconds. Values below 16 &micro;s have their own bucket, every larger power-of-two
+ * range is split into 8 buckets, which bounds the relative error of a quantile to 12.5&nbsp;%. Values above 2<sup>36</sup>
+ * &micro;s (about 19 hours) are recorded in the last bucket. The histogram is exposed as Prometheus summary.
+ */
+public final class LatencyHistogram extends Metric
+{
+	private static final int Linear = 16;
+	private static final int SubBuckets = 8;
+	private static final int MaxMagnitude = 35;
+	private static final int Buckets = Linear + (MaxMagnitude - 3) * SubBuckets;
+
+	private static final double[] Quantiles = { 0.5, 0.9, 0.99, 0.999 };
+
+	private final AtomicLongArray counts = new AtomicLongArray(Buckets);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+
+	/**
+	 * Creates a histogram which is not registered with {@link KnxMetrics}, f.i. for latencies measured by an
+	 * application.
+	 *
+	 * @param name metric name
+	 * @param help description of the metric
+	 */
+	public LatencyHistogram(final String name, final String help)
+	{
+		super(name, help);
+	}
+
+	/**
+	 * Records a latency.
+	 *
+	 * @param nanos latency in nanoseconds
+	 */
+	public void record(final long nanos)
+	{
+		final long micros = Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0);
+		counts.incrementAndGet(index(micros));
+		count.increment();
+		sum.add(micros);
+	}
+
+	/**
+	 * @return number of recorded latencies
+	 */
+	public long count()
+	{
+		return count.sum();
+	}
+
+	/**
+	 * @return sum of the recorded latencies in microseconds
+	 */
+	public long sumMicros()
+	{
+		return sum.sum();
+	}
+
+	/**
+	 * Returns the latency below or at which the requested fraction of the recorded latencies lies, as upper bound of
+	 * its bucket.
+	 *
+	 * @param quantile quantile in [0..1]
+	 * @return latency in microseconds, 0 if nothing has been recorded
+	 */
+	public long quantileMicros(final double quantile)
+	{
+		return quantilesMicros(quantile)[0];
+	}
+
+	/**
+	 * Returns several quantiles of the recorded latencies, all of the same set of recorded latencies.
+	 *
+	 * @param quantiles quantiles in [0..1]
+	 * @return latencies in microseconds, in order of the requested quantiles, 0 if nothing has been recorded
+	 * @see #quantileMicros(double)
+	 */
+	public long[] quantilesMicros(final double... quantiles)
+	{
+		final long[] snapshot = new long[Buckets];
+		long total = 0;
+		for (int i = 0; i < Buckets; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		final long[] latencies = new long[quantiles.length];
+		for (int i = 0; i < quantiles.length; i++)
+			latencies[i] = quantile(snapshot, total, quantiles[i]);
+		return latencies;
+	}
+
+	@Override
+	void writeTo(final StringBuilder out)
+	{
+		final long[] snapshot = new long[Buckets];
+		long total = 0;
+		for (int i = 0; i < Buckets; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		header(out, "summary");
+		for (final double q : Quantiles)
+			out.append(name).append("{quantile=\"").append(q).append("\"} ")
+					.append(quantile(snapshot, total, q) / 1e6).append('\n');
+		out.append(name).append("_sum ").append(sumMicros() / 1e6).append('\n');
+		out.append(name).append("_count ").append(total).append('\n');
+	}
+
+	private static long quantile(final long[] snapshot, final long total, final double quantile)
+	{
+		if (total == 0)
+			return 0;
+		final long rank = Math.max((long) Math.ceil(quantile * total), 1);
+		long seen = 0;
+		for (int i = 0; i < Buckets; i++) {
+			seen += snapshot[i];
+			if (seen >= rank)
+				return upperBound(i);
+		}
+		return upperBound(Buckets - 1);
+	}
+
+	static int index(final long micros)
+	{
+		if (micros < Linear)
+			return (int) micros;
+		final int magnitude = Math.min(63 - Long.numberOfLeadingZeros(micros), MaxMagnitude);
+		if (magnitude == MaxMagnitude && micros >= 1L << (MaxMagnitude + 1))
+			return Buckets - 1;
+		final int sub = (int) (micros >>> (magnitude - 3)) - SubBuckets;
+		return Linear + (magnitude - 4) * SubBuckets + sub;
+	}
+
+	static long upperBound(final int index)
+	{
+		if (index < Linear)
+			return index;
+		final int magnitude = (index - Linear) / SubBuckets + 4;
+		final int sub = (index - Linear) % SubBuckets + SubBuckets;
+		return ((long) (sub + 1) << (magnitude - 3)) - 1;
+	}
+}
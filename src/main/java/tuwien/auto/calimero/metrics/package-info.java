@@ -0,0 +1,6 @@
+/**
+ * Lock-free counters and latency histograms instrumenting the KNX communication path, exposed in the Prometheus text
+ * format.
+ */
+
+package tuwien.auto.calimero.metrics;
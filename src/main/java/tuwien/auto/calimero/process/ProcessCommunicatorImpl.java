@@ -41,6 +41,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -77,6 +78,7 @@ import tuwien.auto.calimero.link.KNXLinkClosedException;
 import tuwien.auto.calimero.link.KNXNetworkLink;
 import tuwien.auto.calimero.link.NetworkLinkListener;
 import tuwien.auto.calimero.log.LogService;
+import tuwien.auto.calimero.metrics.KnxMetrics;
 
 /**
  * This implementation of the process communicator uses in any case the DPT translators
@@ -139,6 +141,9 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 		@Override
 		public void linkClosed(final CloseEvent e)
 		{
+			// a reconnecting link (see Connector) stays open while its connection is closed
+			if (lnk.isOpen())
+				return;
 			logger.info("attached link was closed ({})", e.getReason());
 			detach();
 		}
@@ -156,6 +161,11 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 	private final Map<GroupAddress, FrameEvent> indications = new HashMap<>();
 	private static final FrameEvent NoResponse = new FrameEvent(ProcessCommunicatorImpl.class, (CEMI) null);
 	private final Map<GroupAddress, AtomicInteger> readers = new HashMap<>();
+	// expiry time of the outstanding read request per group address
+	private final Map<GroupAddress, Long> pendingReads = new HashMap<>();
+	private final LongAdder groupReads = new LongAdder();
+	private final LongAdder groupReadRequests = new LongAdder();
+	private final LongAdder coalescedReads = new LongAdder();
 
 	private volatile Priority priority = Priority.LOW;
 	private volatile Duration responseTimeout = Duration.ofSeconds(5);
@@ -424,6 +434,8 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 			throw new IllegalStateException("process communicator detached");
 		try {
 			send(dst, p, GROUP_WRITE, t);
+			if (KnxMetrics.enabled())
+				KnxMetrics.groupWrites.increment();
 			logger.trace("group write to {} succeeded", dst);
 		}
 		catch (final InterruptedException e) {
@@ -432,28 +444,111 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 		}
 	}
 
+	// concurrent reads of the same group address share one read request: only if no request is outstanding, or the
+	// outstanding one is older than the response timeout, a reader sends a new request. Every reader waits until its
+	// own timeout, so a late joiner re-sends if the request it joined expires without response.
 	private byte[] readFromGroup(final GroupAddress dst, final Priority p,
 		final int minASDULen, final int maxASDULen) throws KNXTimeoutException,
 			KNXInvalidResponseException, KNXLinkClosedException, InterruptedException
 	{
 		if (detached)
 			throw new IllegalStateException("process communicator detached");
+		final long timeout = responseTimeout.toMillis();
+		final long end = System.currentTimeMillis() + timeout;
+		boolean sent = false;
+		groupReads.increment();
+		final boolean metrics = KnxMetrics.enabled();
+		final long start = metrics ? System.nanoTime() : 0;
+		if (metrics)
+			KnxMetrics.groupReads.increment();
 		try {
 			synchronized (indications) {
 				readers.computeIfAbsent(dst, v -> new AtomicInteger()).incrementAndGet();
 				indications.putIfAbsent(dst, NoResponse);
 			}
-			send(dst, p, GROUP_READ, null);
-			logger.trace("sent group read request to {}", dst);
-			return waitForResponse(dst, minASDULen + 2, maxASDULen + 2);
+			while (true) {
+				synchronized (indications) {
+					final FrameEvent e = indications.get(dst);
+					if (e != NoResponse) {
+						if (metrics)
+							KnxMetrics.groupReadLatency.record(System.nanoTime() - start);
+						return validate(dst, e, minASDULen + 2, maxASDULen + 2);
+					}
+					final long now = System.currentTimeMillis();
+					if (now >= end)
+						break;
+					final Long outstanding = pendingReads.get(dst);
+					if (outstanding != null && outstanding > now) {
+						indications.wait(Math.min(end, outstanding) - now);
+						continue;
+					}
+					pendingReads.put(dst, now + timeout);
+				}
+				try {
+					send(dst, p, GROUP_READ, null);
+					sent = true;
+					groupReadRequests.increment();
+					logger.trace("sent group read request to {}", dst);
+				}
+				catch (final KNXTimeoutException | KNXLinkClosedException | InterruptedException | RuntimeException e) {
+					synchronized (indications) {
+						pendingReads.remove(dst);
+						indications.notifyAll();
+					}
+					throw e;
+				}
+			}
 		}
 		finally {
+			if (!sent) {
+				coalescedReads.increment();
+				if (metrics)
+					KnxMetrics.groupReadsCoalesced.increment();
+			}
 			synchronized (indications) {
 				final boolean none = readers.get(dst).decrementAndGet() == 0;
 				readers.compute(dst, (k, v) -> none ? null : v);
 				indications.compute(dst, (k, v) -> none ? null : v);
+				if (none)
+					pendingReads.remove(dst);
 			}
 		}
+		if (metrics)
+			KnxMetrics.groupReadTimeouts.increment();
+		logger.info("timeout waiting for group read response from {}", dst);
+		throw new KNXTimeoutException("timeout waiting for group read response from " + dst);
+	}
+
+	/**
+	 * Returns the number of group reads requested from this communicator.
+	 *
+	 * @return number of reads
+	 */
+	public final long groupReads()
+	{
+		return groupReads.sum();
+	}
+
+	/**
+	 * Returns the number of group read requests sent to the KNX network, concurrent reads of the same group address
+	 * share one request.
+	 *
+	 * @return number of group read requests sent
+	 */
+	public final long groupReadRequests()
+	{
+		return groupReadRequests.sum();
+	}
+
+	/**
+	 * Returns the number of group reads which did not send a request themselves, but were answered by (or timed out
+	 * on) the request of a concurrent read.
+	 *
+	 * @return number of coalesced reads
+	 */
+	public final long coalescedReads()
+	{
+		return coalescedReads.sum();
 	}
 
 	private void send(final GroupAddress dst, final Priority p, final int service, final DPTXlator t)
@@ -478,33 +573,18 @@ public class ProcessCommunicatorImpl implements ProcessCommunicator
 		}
 	}
 
-	private byte[] waitForResponse(final GroupAddress from, final int minAPDU, final int maxAPDU)
-		throws KNXInvalidResponseException, KNXTimeoutException, InterruptedException
+	private byte[] validate(final GroupAddress from, final FrameEvent e, final int minAPDU, final int maxAPDU)
+		throws KNXInvalidResponseException
 	{
-		long remaining = responseTimeout.toMillis();
-		final long end = System.currentTimeMillis() + remaining;
-		synchronized (indications) {
-			while (remaining > 0) {
-				final FrameEvent e = indications.get(from);
-				if (e == NoResponse) {
-					indications.wait(remaining);
-					remaining = end - System.currentTimeMillis();
-				}
-				else {
-					final byte[] d = e.getFrame().getPayload();
-					final int len = d.length;
-					// validate length of response we're waiting for
-					if (len >= minAPDU && len <= maxAPDU)
-						return d;
-
-					final String s = "APDU response length " + len + " bytes, expected " + minAPDU + " to " + maxAPDU;
-					logger.error("received group read response from {} with {}", from, s);
-					throw new KNXInvalidResponseException(s);
-				}
-			}
-		}
-		logger.info("timeout waiting for group read response from {}", from);
-		throw new KNXTimeoutException("timeout waiting for group read response from " + from);
+		final byte[] d = e.getFrame().getPayload();
+		final int len = d.length;
+		// validate length of response we're waiting for
+		if (len >= minAPDU && len <= maxAPDU)
+			return d;
+
+		final String s = "APDU response length " + len + " bytes, expected " + minAPDU + " to " + maxAPDU;
+		logger.error("received group read response from {} with {}", from, s);
+		throw new KNXInvalidResponseException(s);
 	}
 
 	private void fireDetached()
@@ -0,0 +1,216 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2018 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package tuwien.auto.calimero.trace;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.CloseEvent;
+import tuwien.auto.calimero.FrameEvent;
+import tuwien.auto.calimero.cemi.CEMI;
+import tuwien.auto.calimero.cemi.CEMILData;
+import tuwien.auto.calimero.link.NetworkLinkListener;
+
+/**
+ * Records the L-Data indications and confirmations of a network link into a compact binary trace file; register the
+ * recorder as listener of the link.
+ * <p>
+ * The trace starts with a 16 byte header: the magic <code>KNXT</code>, the format version, 3 reserved bytes, and the
+ * start time in microseconds since the epoch. Each record consists of
+ * <ul>
+ * <li>the cEMI message code (1 byte, never 0)</li>
+ * <li>the time since the previous record, or the start, in microseconds (unsigned LEB128 varint)</li>
+ * <li>the cEMI L-Data frame without message code and additional information: control fields (2 bytes), source
+ * (2 bytes), destination (2 bytes), NPDU length (1 byte), and TPDU with TPCI, APCI, and payload</li>
+ * </ul>
+ * A typical group telegram takes 12 to 15 bytes. The file is written through a memory-mapped buffer which is moved
+ * forward in regions of 1 MiB; closing the recorder truncates the file to the recorded data.
+ */
+public final class TraceRecorder implements NetworkLinkListener, AutoCloseable
+{
+	static final int Magic = 0x4b4e5854; // "KNXT"
+	static final int Version = 1;
+	static final int HeaderSize = 16;
+
+	private static final int Region = 1 << 20;
+	// message code, varint, and cEMI L-Data without message code and additional info, up to 255 TPDU bytes
+	private static final int MaxRecord = 1 + 10 + 7 + 255;
+
+	private final Path file;
+	private final FileChannel channel;
+	private final Logger logger;
+
+	// guarded by this
+	private MappedByteBuffer buffer;
+	private long regionStart;
+	private long last;
+	private long frames;
+	private boolean closed;
+
+	/**
+	 * Creates a recorder writing to the supplied file, an existing file is overwritten.
+	 *
+	 * @param file trace file
+	 * @throws IOException on error creating or mapping the file
+	 */
+	public TraceRecorder(final Path file) throws IOException
+	{
+		this.file = file;
+		logger = LoggerFactory.getLogger("calimero.trace");
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		map(0);
+		final Instant now = Instant.now();
+		buffer.putInt(Magic).put((byte) Version).put((byte) 0).putShort((short) 0);
+		buffer.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, now));
+		last = System.nanoTime();
+	}
+
+	/**
+	 * @return the trace file
+	 */
+	public Path file()
+	{
+		return file;
+	}
+
+	/**
+	 * @return number of recorded frames
+	 */
+	public synchronized long frames()
+	{
+		return frames;
+	}
+
+	/**
+	 * @return number of bytes recorded, including the header
+	 */
+	public synchronized long size()
+	{
+		return regionStart + buffer.position();
+	}
+
+	@Override
+	public void indication(final FrameEvent e)
+	{
+		record(e.getFrame());
+	}
+
+	@Override
+	public void confirmation(final FrameEvent e)
+	{
+		record(e.getFrame());
+	}
+
+	@Override
+	public void linkClosed(final CloseEvent e)
+	{
+		// a reconnecting link delivers frames again, keep recording until closed
+	}
+
+	/**
+	 * Records a frame, frames other than L-Data are ignored.
+	 *
+	 * @param frame the frame
+	 */
+	public synchronized void record(final CEMI frame)
+	{
+		if (closed || !(frame instanceof CEMILData))
+			return;
+		final long now = System.nanoTime();
+		final byte[] cemi = frame.toByteArray();
+		final int ldata = 2 + (cemi[1] & 0xff);
+		try {
+			if (buffer.remaining() < MaxRecord)
+				map(regionStart + buffer.position());
+		}
+		catch (final IOException e) {
+			logger.error("stop recording to {}", file, e);
+			closed = true;
+			return;
+		}
+		buffer.put(cemi[0]);
+		putVarint((now - last) / 1000);
+		buffer.put(cemi, ldata, cemi.length - ldata);
+		// keep the remainder of the microsecond for the next delta
+		last = now - (now - last) % 1000;
+		frames++;
+	}
+
+	/**
+	 * Stops recording, and truncates the file to the recorded data.
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		if (closed && !channel.isOpen())
+			return;
+		closed = true;
+		final long size = regionStart + buffer.position();
+		buffer.force();
+		channel.truncate(size);
+		channel.close();
+	}
+
+	private void map(final long position) throws IOException
+	{
+		if (buffer != null)
+			buffer.force();
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, Region);
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		regionStart = position;
+	}
+
+	private void putVarint(final long value)
+	{
+		long v = value;
+		while ((v & ~0x7fL) != 0) {
+			buffer.put((byte) ((v & 0x7f) | 0x80));
+			v >>>= 7;
+		}
+		buffer.put((byte) v);
+	}
+}
@@ -0,0 +1,254 @@
+/*
+    Calimero 2 - A library for KNX network access
+    Copyright (c) 2018 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package tuwien.auto.calimero.trace;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import tuwien.auto.calimero.FrameEvent;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.cemi.CEMI;
+import tuwien.auto.calimero.cemi.CEMIFactory;
+import tuwien.auto.calimero.cemi.CEMILData;
+import tuwien.auto.calimero.link.NetworkLinkListener;
+
+/**
+ * Replays a trace written by {@link TraceRecorder} into a network link listener, keeping the recorded timing scaled by
+ * a speed factor, or as fast as the listener accepts the frames.
+ * <p>
+ * Frames are delivered on the calling thread, the source of every frame event is the replayer. Traces up to 2 GiB are
+ * supported.
+ */
+public final class TraceReplayer
+{
+	/** Speed to replay without delays between the frames. */
+	public static final double MaxSpeed = Double.POSITIVE_INFINITY;
+
+	// park until shortly before the frame is due, spin for the remainder
+	private static final long SpinNanos = 100_000;
+
+	/**
+	 * Result of a replay.
+	 */
+	public static final class Result
+	{
+		private final long frames;
+		private final long elapsedNanos;
+		private final long maxLagNanos;
+
+		Result(final long frames, final long elapsedNanos, final long maxLagNanos)
+		{
+			this.frames = frames;
+			this.elapsedNanos = elapsedNanos;
+			this.maxLagNanos = maxLagNanos;
+		}
+
+		/**
+		 * @return number of replayed frames
+		 */
+		public long frames()
+		{
+			return frames;
+		}
+
+		/**
+		 * @return duration of the replay in nanoseconds
+		 */
+		public long elapsedNanos()
+		{
+			return elapsedNanos;
+		}
+
+		/**
+		 * @return frames delivered per second
+		 */
+		public double framesPerSecond()
+		{
+			return elapsedNanos > 0 ? frames * 1e9 / elapsedNanos : 0;
+		}
+
+		/**
+		 * Returns the maximum delay of a frame behind its scaled recording time; a growing lag means the listener
+		 * cannot keep up with the replay speed.
+		 *
+		 * @return maximum lag in nanoseconds, 0 for a replay at maximum speed
+		 */
+		public long maxLagNanos()
+		{
+			return maxLagNanos;
+		}
+
+		@Override
+		public String toString()
+		{
+			return frames + " frames in " + elapsedNanos / 1_000_000 + " ms (" + Math.round(framesPerSecond())
+					+ " frames/s, max lag " + maxLagNanos / 1000 + " us)";
+		}
+	}
+
+	private final Path file;
+	private final MappedByteBuffer trace;
+	private final Instant start;
+
+	/**
+	 * Opens a trace file for replay.
+	 *
+	 * @param file trace file
+	 * @throws IOException on error reading the file
+	 * @throws KNXFormatException if the file is not a trace of a supported version
+	 */
+	public TraceReplayer(final Path file) throws IOException, KNXFormatException
+	{
+		this.file = file;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE)
+				throw new KNXFormatException("trace " + file + " exceeds 2 GiB");
+			trace = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if (trace.limit() < TraceRecorder.HeaderSize || trace.getInt(0) != TraceRecorder.Magic)
+			throw new KNXFormatException("no KNX trace: " + file);
+		if (trace.get(4) != TraceRecorder.Version)
+			throw new KNXFormatException("unsupported trace version " + trace.get(4));
+		start = Instant.EPOCH.plus(trace.getLong(8), ChronoUnit.MICROS);
+	}
+
+	/**
+	 * @return start time of the recording
+	 */
+	public Instant start()
+	{
+		return start;
+	}
+
+	/**
+	 * Replays all frames of the trace, indications as {@link NetworkLinkListener#indication(FrameEvent)} and
+	 * confirmations as {@link NetworkLinkListener#confirmation(FrameEvent)}.
+	 *
+	 * @param listener receives the frames
+	 * @param speed speed factor, 1 for the recorded timing, {@link #MaxSpeed} for no delays
+	 * @return frames, duration and lag of the replay
+	 * @throws KNXFormatException on a corrupt record
+	 * @throws InterruptedException on interrupt, the replay stops
+	 */
+	public Result replay(final NetworkLinkListener listener, final double speed)
+		throws KNXFormatException, InterruptedException
+	{
+		if (!(speed > 0))
+			throw new IllegalArgumentException("replay speed " + speed + " not > 0");
+		final boolean timed = speed != MaxSpeed;
+		final MappedByteBuffer in = (MappedByteBuffer) trace.duplicate();
+		in.position(TraceRecorder.HeaderSize);
+
+		final long begin = System.nanoTime();
+		long recorded = 0; // [us]
+		long frames = 0;
+		long maxLag = 0;
+		while (in.remaining() > 0) {
+			final int mc = in.get() & 0xff;
+			if (mc == 0)
+				break;
+			recorded += varint(in);
+			final CEMI frame = frame(mc, in);
+
+			if (timed) {
+				final long due = begin + (long) (recorded * 1000 / speed);
+				maxLag = Math.max(maxLag, waitUntil(due));
+			}
+			final FrameEvent e = new FrameEvent(this, frame);
+			if (mc == CEMILData.MC_LDATA_CON)
+				listener.confirmation(e);
+			else
+				listener.indication(e);
+			frames++;
+		}
+		return new Result(frames, System.nanoTime() - begin, maxLag);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "trace " + file + " recorded " + start;
+	}
+
+	// rebuilds the cEMI frame, with empty additional information
+	private CEMI frame(final int mc, final MappedByteBuffer in) throws KNXFormatException
+	{
+		final int header = 7;
+		if (in.remaining() < header)
+			throw new KNXFormatException("truncated record at " + in.position() + " of " + file);
+		final int tpdu = (in.get(in.position() + 6) & 0xff) + 1;
+		if (in.remaining() < header + tpdu)
+			throw new KNXFormatException("truncated record at " + in.position() + " of " + file);
+		final byte[] cemi = new byte[2 + header + tpdu];
+		cemi[0] = (byte) mc;
+		in.get(cemi, 2, header + tpdu);
+		return CEMIFactory.create(cemi, 0, cemi.length);
+	}
+
+	// returns how late the frame is, in nanoseconds
+	private static long waitUntil(final long due) throws InterruptedException
+	{
+		long remaining;
+		while ((remaining = due - System.nanoTime()) > 0) {
+			if (Thread.interrupted())
+				throw new InterruptedException("replay interrupted");
+			if (remaining > SpinNanos)
+				LockSupport.parkNanos(remaining - SpinNanos);
+			else
+				Thread.onSpinWait();
+		}
+		return -remaining;
+	}
+
+	private static long varint(final MappedByteBuffer in) throws KNXFormatException
+	{
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final int b = in.get() & 0xff;
+			value |= (long) (b & 0x7f) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new KNXFormatException("malformed time delta in trace");
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * Recording of the frames of a network link into compact binary trace files, and time-accurate replay of traces into
+ * link listeners.
+ */
+
+package tuwien.auto.calimero.trace;